@@ -3,8 +3,10 @@ package com.boot3.myrestapi.common.config;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
     @Bean
     public ModelMapper modelMapper() {
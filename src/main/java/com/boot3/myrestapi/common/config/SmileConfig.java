@@ -0,0 +1,27 @@
+package com.boot3.myrestapi.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/*
+    Accept: application/x-jackson-smile 요청에 HAL 구조(_embedded, _links)를 Smile(binary JSON)로 응답
+    Spring MVC 기본 Smile converter 는 HAL 설정과 @JsonComponent 가 없는 ObjectMapper 를 사용하므로
+    application 의 ObjectMapper 를 SmileFactory 로 복사하고 HAL 설정을 적용한 converter 를 bean 으로 등록한다.
+    (HttpMessageConverters 가 같은 타입의 기본 converter 를 이 bean 으로 교체)
+ */
+@Configuration
+public class SmileConfig {
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter halSmileHttpMessageConverter(
+            ObjectMapper objectMapper, HalMediaTypeConfiguration halMediaTypeConfiguration) {
+        ObjectMapper smileMapper = halMediaTypeConfiguration.configureObjectMapper(
+                objectMapper.copyWith(new SmileFactory()));
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper);
+    }
+}
@@ -0,0 +1,118 @@
+package com.boot3.myrestapi.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+    동시에 빌려갈 수 있는 Connection 수를 Semaphore 로 제한하는 DataSource
+    - virtual thread 는 요청마다 만들어지므로 요청 수만큼 connection pool 에 몰릴 수 있다
+      permit 을 pool 크기로 두면 초과한 요청은 pool 이 아닌 공정(FIFO) Semaphore 에서 기다린다
+    - acquireTimeout 안에 permit 을 얻지 못하면 SQLTransientConnectionException
+    - permit 은 Connection.close() 에서 한번만 반환
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final long acquireTimeoutNanos;
+    private Counter rejectedCounter;
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConnections, Duration acquireTimeout) {
+        super(targetDataSource);
+        Assert.isTrue(maxConnections > 0, "maxConnections must be positive");
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("datasource.guard.waiting", permits, Semaphore::getQueueLength)
+                .description("Connection permit 을 기다리는 thread 수")
+                .register(meterRegistry);
+        Gauge.builder("datasource.guard.in-use", this, ConnectionLimitingDataSource::inUse)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("datasource.guard.rejected").register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int inUse() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                if (rejectedCounter != null) {
+                    rejectedCounter.increment();
+                }
+                throw new SQLTransientConnectionException(String.format(
+                        "DB connection 대기 시간(%dms) 초과 (max=%d, waiting=%d)",
+                        TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos), maxConnections, permits.getQueueLength()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("DB connection 대기 중 interrupt 발생", e);
+        }
+    }
+
+    //close() 할 때 permit 반환
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Guarded[" + connection + "]";
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,61 @@
+package com.boot3.myrestapi.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/*
+    DataSource bean 을 ConnectionLimitingDataSource 로 감싼다
+    - 최대 동시 connection 수는 datasource.guard.max-connections, 없으면 Hikari maximum-pool-size
+    - 대기 시간은 datasource.guard.acquire-timeout, 없으면 Hikari connection-timeout
+    datasource.guard.enabled 의 기본값은 spring.threads.virtual.enabled 를 따른다
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.guard.enabled", havingValue = "true")
+public class DataSourceGuardConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                int maxConnections = 10;
+                Duration acquireTimeout = Duration.ofSeconds(30);
+                if (dataSource instanceof HikariDataSource hikari) {
+                    //pool 이 시작되기 전에는 maximum-pool-size 를 지정하지 않으면 -1 (Hikari 기본값 10)
+                    if (hikari.getMaximumPoolSize() > 0) {
+                        maxConnections = hikari.getMaximumPoolSize();
+                    }
+                    acquireTimeout = Duration.ofMillis(hikari.getConnectionTimeout());
+                }
+                return new ConnectionLimitingDataSource(dataSource,
+                        environment.getProperty("datasource.guard.max-connections", Integer.class, maxConnections),
+                        environment.getProperty("datasource.guard.acquire-timeout", Duration.class, acquireTimeout));
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionLimitingDataSourceMetrics(DataSource dataSource) {
+        return meterRegistry -> {
+            try {
+                if (dataSource.isWrapperFor(ConnectionLimitingDataSource.class)) {
+                    dataSource.unwrap(ConnectionLimitingDataSource.class).bindTo(meterRegistry);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
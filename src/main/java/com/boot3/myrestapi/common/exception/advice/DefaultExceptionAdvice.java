@@ -2,7 +2,10 @@ package com.boot3.myrestapi.common.exception.advice;
 
 import com.boot3.myrestapi.common.exception.BusinessException;
 import com.boot3.myrestapi.common.exception.ErrorObject;
+import com.boot3.myrestapi.security.password.PasswordHashingRejectedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ProblemDetail;
@@ -55,6 +58,28 @@ public class DefaultExceptionAdvice {
         return new ResponseEntity<>(result, HttpStatus.BAD_REQUEST);
     }
 
+    //password hashing 큐가 가득 찬 경우 503 + Retry-After
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    protected ResponseEntity<ErrorObject> handleException(PasswordHashingRejectedException e) {
+        ErrorObject errorObject = new ErrorObject();
+        errorObject.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorObject.setMessage(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorObject);
+    }
+
+    //If-Match 불일치 또는 동시 수정(@Version 충돌) 412
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    protected ResponseEntity<ErrorObject> handleException(OptimisticLockingFailureException e) {
+        ErrorObject errorObject = new ErrorObject();
+        errorObject.setStatusCode(HttpStatus.PRECONDITION_FAILED.value());
+        errorObject.setMessage(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorObject);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     protected ResponseEntity<ErrorObject> handleException(RuntimeException e) {
         ErrorObject errorObject = new ErrorObject();
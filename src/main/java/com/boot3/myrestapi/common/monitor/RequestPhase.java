@@ -0,0 +1,37 @@
+package com.boot3.myrestapi.common.monitor;
+
+/*
+    request.phase Timer 의 phase tag
+    phase 는 중첩될 수 있다 (handler 에는 authorization, validation, repository, mapping, links 가 포함되고
+    load-user 에는 cache miss 일 때의 repository 시간이 포함된다)
+ */
+public enum RequestPhase {
+    //JwtService.verify, denylist 확인, validateToken
+    JWT("jwt"),
+    //UserInfoUserDetailsService.loadUserByUsername (principal 캐시 포함)
+    LOAD_USER("load-user"),
+    //@PreAuthorize 표현식 평가 (AuthorizationPhaseObservationHandler)
+    AUTHORIZATION("authorization"),
+    //HandlerInterceptor.preHandle ~ 응답 body 직렬화 시작 (body 가 없으면 afterCompletion)
+    HANDLER("handler"),
+    //LectureValidator
+    VALIDATION("validation"),
+    //Spring Data repository 메서드 호출
+    REPOSITORY("repository"),
+    //LectureMapper (Entity <-> Dto)
+    MAPPING("mapping"),
+    //HATEOAS Resource/Link 생성
+    LINKS("links"),
+    //HttpMessageConverter 로 응답 body 직렬화
+    SERIALIZATION("serialization");
+
+    private final String tagValue;
+
+    RequestPhase(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    public String tagValue() {
+        return tagValue;
+    }
+}
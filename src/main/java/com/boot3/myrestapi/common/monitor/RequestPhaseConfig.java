@@ -0,0 +1,56 @@
+package com.boot3.myrestapi.common.monitor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    RequestPhases 에 handler 와 repository 시간을 기록하는 설정
+    - HandlerInterceptor: preHandle 에서 handler 시작, afterCompletion 에서 직렬화(또는 handler) 종료
+    - 모든 repository 에 RepositoryMethodInvocationListener 를 추가 (spring.data.repository 메트릭과 같은 방식)
+ */
+@Configuration
+public class RequestPhaseConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestPhases.handlerStarted();
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                RequestPhases.completed();
+            }
+        });
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryPhaseListenerPostProcessor() {
+        RepositoryMethodInvocationListener listener = invocation ->
+                RequestPhases.record(RequestPhase.REPOSITORY, invocation.getDuration(TimeUnit.NANOSECONDS));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(
+                            repositoryFactory -> repositoryFactory.addInvocationListener(listener));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.boot3.myrestapi.common.monitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+    요청이 끝나면 RequestPhases 에 기록된 phase 별 시간을 request.phase{phase, method, uri} Timer 에 기록
+    - Security Filter Chain 보다 먼저 실행되어야 JWT/사용자 조회 시간도 포함된다
+    - uri 는 handler 의 URI pattern (예: /api/lectures/{id}), handler 가 정해지지 않은 요청은 UNKNOWN
+    - Timer 는 method -> uri -> phase 배열로 캐시해서 요청마다 tag 객체를 만들지 않는다
+    percentile/histogram 은 management.metrics.distribution.*.request.phase 설정
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RequestPhaseFilter extends OncePerRequestFilter {
+    public static final String METRIC_NAME = "request.phase";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<String, Timer[]>> timers = new ConcurrentHashMap<>();
+
+    public RequestPhaseFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestPhases phases = RequestPhases.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestPhases.end();
+            record(request, phases);
+        }
+    }
+
+    void record(HttpServletRequest request, RequestPhases phases) {
+        Timer[] endpointTimers = null;
+        for (RequestPhase phase : PHASES) {
+            if (!phases.isRecorded(phase)) {
+                continue;
+            }
+            if (endpointTimers == null) {
+                endpointTimers = endpointTimers(request.getMethod(), uri(request));
+            }
+            Timer timer = endpointTimers[phase.ordinal()];
+            if (timer == null) {
+                timer = Timer.builder(METRIC_NAME)
+                        .description("요청 처리 단계별 시간")
+                        .tag("phase", phase.tagValue())
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri(request))
+                        .register(meterRegistry);
+                endpointTimers[phase.ordinal()] = timer;
+            }
+            timer.record(phases.nanos(phase), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] endpointTimers(String method, String uri) {
+        return timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(uri, key -> new Timer[PHASES.length]);
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNKNOWN_URI : pattern.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.boot3.myrestapi.common.monitor;
+
+import java.util.Arrays;
+
+/*
+    요청 하나의 phase 별 누적 시간 (nanos)
+    RequestPhaseFilter 가 요청 thread 에 begin/end 하고, 각 phase 는 static start/stop 으로 기록한다.
+    - thread 마다 객체 하나를 재사용 (platform thread 는 요청마다 할당 없음)
+    - 요청 처리 중이 아니면(스케줄러, 시작 시 Runner 등) start() 는 0 을 리턴하고 아무것도 기록하지 않는다
+ */
+public final class RequestPhases {
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+    private static final ThreadLocal<RequestPhases> CURRENT = ThreadLocal.withInitial(RequestPhases::new);
+
+    private final long[] nanos = new long[PHASES.length];
+    private int recorded;
+    private boolean active;
+    private long handlerStart;
+    private long serializationStart;
+
+    private RequestPhases() {
+    }
+
+    //phase 시작 시각, 요청 처리 중이 아니면 0
+    public static long start() {
+        return CURRENT.get().active ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(RequestPhase phase, long start) {
+        if (start != 0L) {
+            CURRENT.get().add(phase, System.nanoTime() - start);
+        }
+    }
+
+    //이미 측정된 시간을 더한다 (repository invocation listener)
+    public static void record(RequestPhase phase, long elapsedNanos) {
+        RequestPhases current = CURRENT.get();
+        if (current.active) {
+            current.add(phase, elapsedNanos);
+        }
+    }
+
+    static RequestPhases begin() {
+        RequestPhases current = CURRENT.get();
+        Arrays.fill(current.nanos, 0L);
+        current.recorded = 0;
+        current.handlerStart = 0L;
+        current.serializationStart = 0L;
+        current.active = true;
+        return current;
+    }
+
+    static void end() {
+        CURRENT.get().active = false;
+    }
+
+    static void handlerStarted() {
+        RequestPhases current = CURRENT.get();
+        if (current.active) {
+            current.handlerStart = System.nanoTime();
+        }
+    }
+
+    //handler 종료 = 직렬화 시작
+    static void bodyWriteStarted() {
+        RequestPhases current = CURRENT.get();
+        if (current.active && current.handlerStart != 0L && current.serializationStart == 0L) {
+            current.serializationStart = System.nanoTime();
+            current.add(RequestPhase.HANDLER, current.serializationStart - current.handlerStart);
+        }
+    }
+
+    static void completed() {
+        RequestPhases current = CURRENT.get();
+        if (!current.active || current.handlerStart == 0L) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (current.serializationStart != 0L) {
+            current.add(RequestPhase.SERIALIZATION, now - current.serializationStart);
+        } else {
+            current.add(RequestPhase.HANDLER, now - current.handlerStart);
+        }
+        current.handlerStart = 0L;
+    }
+
+    boolean isRecorded(RequestPhase phase) {
+        return (recorded & (1 << phase.ordinal())) != 0;
+    }
+
+    long nanos(RequestPhase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    private void add(RequestPhase phase, long elapsedNanos) {
+        nanos[phase.ordinal()] += elapsedNanos;
+        recorded |= 1 << phase.ordinal();
+    }
+}
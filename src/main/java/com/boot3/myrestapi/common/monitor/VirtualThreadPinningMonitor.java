@@ -0,0 +1,102 @@
+package com.boot3.myrestapi.common.monitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/*
+    virtual thread 가 carrier thread 에 고정(pinning)된 시간을 JFR(jdk.VirtualThreadPinned) 로 수집
+    - synchronized 블록/메서드 안에서 blocking(JDBC, lock 대기 등) 하면 carrier thread 를 놓지 못한다
+    - 위치(site)는 stack 에서 처음 나오는 이 프로젝트의 frame, 없으면 가장 위의 frame
+    - jvm.threads.virtual.pinned{site} Timer 로 횟수와 시간을 기록하고, 로그는 1초에 한번만 남긴다
+    spring.threads.virtual.enabled=true 일 때만 동작
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.boot3.myrestapi.";
+    private static final long LOG_INTERVAL_NANOS = 1_000_000_000L;
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong lastLogNanos = new AtomicLong(System.nanoTime() - LOG_INTERVAL_NANOS);
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(@Value("${monitor.virtual-thread-pinning.threshold:20ms}") Duration threshold,
+                                       MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public synchronized void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("virtual thread pinning 기록 시작 (threshold={})", threshold);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null
+                ? List.of()
+                : event.getStackTrace().getFrames();
+        String site = site(frames);
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("virtual thread 가 carrier thread 에 고정된 시간")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        long now = System.nanoTime();
+        long last = lastLogNanos.get();
+        if (now - last >= LOG_INTERVAL_NANOS && lastLogNanos.compareAndSet(last, now)) {
+            log.warn("virtual thread pinning {}ms at {}\n\t{}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::frame)
+                            .collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return frame(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : frame(frames.get(0));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
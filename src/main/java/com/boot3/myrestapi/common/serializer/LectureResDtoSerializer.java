@@ -0,0 +1,142 @@
+package com.boot3.myrestapi.common.serializer;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/*
+    LectureResDto 직렬화 (bean introspection 과 @JsonFormat 처리 없이 필드를 순서대로 직접 쓴다)
+    - 필드 이름은 미리 인코딩한 SerializedString 사용
+    - LocalDateTime 은 "yyyy-MM-dd HH:mm" 을 char[] 에 직접 채워서 쓴다
+    - LectureResource 의 @JsonUnwrapped 를 위해 unwrappingSerializer 를 지원
+    LectureResDto 에 응답 필드를 추가하면 FIELD_NAMES 와 writeFields 에도 추가해야 한다. (LectureResDtoSerializerTest 가 기본 직렬화 결과와 비교)
+ */
+@JsonComponent
+public class LectureResDtoSerializer extends JsonSerializer<LectureResDto> {
+    private static final int DATE_TIME_LENGTH = 16;
+
+    private static final String[] FIELD_NAMES = {"id", "name", "description",
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginLectureDateTime", "endLectureDateTime",
+            "location", "basePrice", "maxPrice", "limitOfEnrollment", "offline", "free", "email", "lectureStatus"};
+
+    private final SerializableString[] names;
+    private final boolean unwrapping;
+
+    public LectureResDtoSerializer() {
+        this(NameTransformer.NOP, false);
+    }
+
+    private LectureResDtoSerializer(NameTransformer nameTransformer, boolean unwrapping) {
+        this.names = new SerializableString[FIELD_NAMES.length];
+        for (int i = 0; i < FIELD_NAMES.length; i++) {
+            this.names[i] = new SerializedString(nameTransformer.transform(FIELD_NAMES[i]));
+        }
+        this.unwrapping = unwrapping;
+    }
+
+    @Override
+    public Class<LectureResDto> handledType() {
+        return LectureResDto.class;
+    }
+
+    @Override
+    public void serialize(LectureResDto resDto, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (unwrapping) {
+            writeFields(resDto, gen);
+            return;
+        }
+        gen.writeStartObject(resDto);
+        writeFields(resDto, gen);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public boolean isUnwrappingSerializer() {
+        return unwrapping;
+    }
+
+    //@JsonUnwrapped(prefix/suffix) 의 이름 변환을 적용한 serializer
+    @Override
+    public JsonSerializer<LectureResDto> unwrappingSerializer(NameTransformer nameTransformer) {
+        return new LectureResDtoSerializer(nameTransformer, true);
+    }
+
+    private void writeFields(LectureResDto resDto, JsonGenerator gen) throws IOException {
+        char[] buffer = new char[DATE_TIME_LENGTH];
+        gen.writeFieldName(names[0]);
+        if (resDto.getId() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(resDto.getId());
+        }
+        writeString(gen, names[1], resDto.getName());
+        writeString(gen, names[2], resDto.getDescription());
+        writeDateTime(gen, names[3], resDto.getBeginEnrollmentDateTime(), buffer);
+        writeDateTime(gen, names[4], resDto.getCloseEnrollmentDateTime(), buffer);
+        writeDateTime(gen, names[5], resDto.getBeginLectureDateTime(), buffer);
+        writeDateTime(gen, names[6], resDto.getEndLectureDateTime(), buffer);
+        writeString(gen, names[7], resDto.getLocation());
+        gen.writeFieldName(names[8]);
+        gen.writeNumber(resDto.getBasePrice());
+        gen.writeFieldName(names[9]);
+        gen.writeNumber(resDto.getMaxPrice());
+        gen.writeFieldName(names[10]);
+        gen.writeNumber(resDto.getLimitOfEnrollment());
+        gen.writeFieldName(names[11]);
+        gen.writeBoolean(resDto.isOffline());
+        gen.writeFieldName(names[12]);
+        gen.writeBoolean(resDto.isFree());
+        writeString(gen, names[13], resDto.getEmail());
+        writeString(gen, names[14], resDto.getLectureStatus() == null ? null : resDto.getLectureStatus().name());
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator gen, SerializableString name, LocalDateTime dateTime,
+                                      char[] buffer) throws IOException {
+        gen.writeFieldName(name);
+        if (dateTime == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = dateTime.getYear();
+        //4자리 연도가 아니면 DateTimeFormatter 사용
+        if (year < 1 || year > 9999) {
+            gen.writeString(LectureResDto.DATE_TIME_FORMATTER.format(dateTime));
+            return;
+        }
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, dateTime.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, dateTime.getDayOfMonth(), 2);
+        buffer[10] = ' ';
+        writeDigits(buffer, 11, dateTime.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, dateTime.getMinute(), 2);
+        gen.writeString(buffer, 0, DATE_TIME_LENGTH);
+    }
+
+    //value 를 앞에 0 을 채운 width 자리 숫자로
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
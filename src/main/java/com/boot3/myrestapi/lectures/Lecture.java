@@ -11,9 +11,21 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter @Setter
-@Entity  @Table(name = "lectures")
+@Entity  @Table(name = "lectures", indexes = {
+        //GET /api/lectures/search 조건 조합별 index
+        @Index(name = "ix_lectures_status_enrollment", columnList = "lecture_status, begin_enrollment_date_time"),
+        @Index(name = "ix_lectures_enrollment", columnList = "begin_enrollment_date_time, close_enrollment_date_time"),
+        @Index(name = "ix_lectures_free_offline_price", columnList = "free, offline, base_price"),
+        @Index(name = "ix_lectures_base_price", columnList = "base_price"),
+        @Index(name = "ix_lectures_location", columnList = "location"),
+        @Index(name = "ix_lectures_name", columnList = "name"),
+        //keyset 페이징 (sort=beginLectureDateTime)
+        @Index(name = "ix_lectures_begin_lecture", columnList = "begin_lecture_date_time, id")
+})
 public class Lecture {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    //IDENTITY 는 insert batch 가 불가능하므로 sequence 를 50개씩 미리 할당(pooled)해서 사용
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lectures_seq")
+    @SequenceGenerator(name = "lectures_seq", sequenceName = "lectures_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false)
@@ -23,6 +35,8 @@ public class Lecture {
 
     private LocalDateTime beginEnrollmentDateTime;
     private LocalDateTime closeEnrollmentDateTime;
+    //LectureCursor 의 정렬 키이므로 null 을 허용하지 않음 (null 행은 keyset 조건에서 누락됨)
+    @Column(nullable = false)
     private LocalDateTime beginLectureDateTime;
     private LocalDateTime endLectureDateTime;
     
@@ -34,10 +48,15 @@ public class Lecture {
     private boolean offline;
     private boolean free;
 
+    //수정될 때마다 증가, ETag 와 동시 수정 감지(optimistic lock)에 사용
+    @Version
+    private Integer version;
+
     @Enumerated(EnumType.STRING)
     private LectureStatus lectureStatus = LectureStatus.DRAFT;
 
-    @ManyToOne
+    //목록/단건 조회는 LectureRepository 의 DTO projection 으로 email 만 가져오므로 지연 로딩
+    @ManyToOne(fetch = FetchType.LAZY)
     private UserInfo userInfo;
 
     public void update() {
@@ -0,0 +1,17 @@
+package com.boot3.myrestapi.lectures;
+
+/*
+    Lecture 가 등록/수정된 후 발행되는 event
+    LectureReadCache 는 transaction commit 후에 해당 id 의 캐시를 제거한다.
+    LectureSearchIndex 는 text(name, description)로 색인을 갱신한다. (text 가 null 이면 DB 에서 조회)
+ */
+public record LectureChangedEvent(Integer id, LectureText text) {
+    public LectureChangedEvent(Integer id) {
+        this(id, null);
+    }
+
+    public static LectureChangedEvent of(Lecture lecture) {
+        return new LectureChangedEvent(lecture.getId(),
+                new LectureText(lecture.getId(), lecture.getName(), lecture.getDescription()));
+    }
+}
@@ -1,44 +1,84 @@
 package com.boot3.myrestapi.lectures;
 
+import com.boot3.myrestapi.common.config.SmileConfig;
 import com.boot3.myrestapi.common.dto.ErrorsResource;
 import com.boot3.myrestapi.common.exception.BusinessException;
+import com.boot3.myrestapi.common.monitor.RequestPhase;
+import com.boot3.myrestapi.common.monitor.RequestPhases;
+import com.boot3.myrestapi.lectures.dto.LectureBatchReqDto;
 import com.boot3.myrestapi.lectures.dto.LectureReqDto;
 import com.boot3.myrestapi.lectures.dto.LectureResDto;
 import com.boot3.myrestapi.lectures.dto.LectureResource;
+import com.boot3.myrestapi.lectures.dto.LectureSearchCondition;
+import com.boot3.myrestapi.lectures.dto.SparseLectureResource;
 import com.boot3.myrestapi.lectures.validator.LectureValidator;
 import com.boot3.myrestapi.security.userinfos.CurrentUser;
 import com.boot3.myrestapi.security.userinfos.UserInfo;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
-@RequestMapping(value = "/api/lectures", produces = MediaTypes.HAL_JSON_VALUE)
+@RequestMapping(value = "/api/lectures", produces = {MediaTypes.HAL_JSON_VALUE, SmileConfig.SMILE_VALUE})
 @RequiredArgsConstructor
 public class LectureController {
+    //keyset 페이징 한 페이지 최대 크기
+    private static final int MAX_PAGE_SIZE = 2000;
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String CSV_VALUE = "text/csv";
+
     private final LectureRepository lectureRepository;
-    private final ModelMapper modelMapper;
+    private final LectureMapper lectureMapper;
     private final LectureValidator lectureValidator;
+    private final LectureReadCache lectureReadCache;
+    private final LectureExporter lectureExporter;
+    private final LectureSearchIndex lectureSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+
+    //POST /api/lectures/batch 한번에 등록할 수 있는 최대 개수
+    @Value("${lectures.batch.max-size:10000}")
+    private int maxBatchSize;
     
     //Constructor Injection 생성자주입
 //    public LectureController(LectureRepository lectureRepository) {
@@ -54,71 +94,240 @@ public class LectureController {
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_USER')")
     public ResponseEntity<?> getLecture(@PathVariable Integer id,
-                                        @CurrentUser UserInfo currentUser) {
+                                        @RequestParam(required = false) String fields,
+                                        @CurrentUser UserInfo currentUser,
+                                        WebRequest webRequest) {
+        //fields 가 있으면 요청한 필드만 응답 (ETag 도 fields 별로 다르다)
+        List<String> fieldList = LectureFields.parse(fields);
+        //If-None-Match 가 있으면 version 만 확인해서 304 응답 (Dto 변환/직렬화 없음)
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<LectureVersion> lectureVersion = this.lectureReadCache.getIfPresent(id)
+                    .map(resDto -> new LectureVersion(resDto.getVersion(), resDto.getOwnerId()))
+                    .or(() -> this.lectureRepository.findVersionById(id));
+            if (lectureVersion.isPresent() && webRequest.checkNotModified(LectureETags.of(id,
+                    lectureVersion.get().version(), isOwner(lectureVersion.get().ownerId(), currentUser), fieldList))) {
+                return null;
+            }
+        }
 //        Optional<Lecture> optionalLecture = this.lectureRepository.findById(id);
 //        if(optionalLecture.isEmpty()) {
 //            return ResponseEntity.notFound().build();
 //        }
 //        Lecture lecture = optionalLecture.get();
 
-        Lecture lecture = this.lectureRepository.findById(id) //Optional<Lecture>
+        //캐시에 없으면 Lecture + 등록자 email 을 SQL 한번으로 조회
+        LectureResDto lectureResDto = this.lectureReadCache.get(id, lectureRepository::findResDtoById) //Optional<LectureResDto>
             .orElseThrow(() -> new BusinessException("Lecture Not Found", HttpStatus.NOT_FOUND ));
-        LectureResDto lectureResDto = modelMapper.map(lecture, LectureResDto.class);
-
-        if (lecture.getUserInfo() != null)
-            lectureResDto.setEmail(lecture.getUserInfo().getEmail());
-        LectureResource lectureResource = new LectureResource(lectureResDto);
+        //단건은 캐시된 LectureResDto 를 함께 쓰고 응답 필드만 줄인다
+        long links = RequestPhases.start();
+        RepresentationModel<?> lectureResource = fieldList == null
+                ? new LectureResource(lectureResDto)
+                : new SparseLectureResource(LectureFields.attributes(lectureResDto, fieldList), LectureLinks.baseHref());
         //인증토큰의 email과 Lecture가 참조하는 email주소가 같으면 update 링크를 제공하기
-        if ((lecture.getUserInfo() != null) && (lecture.getUserInfo().equals(currentUser))) {
+        boolean owner = isOwner(lectureResDto.getOwnerId(), currentUser);
+        if (owner) {
         //if ((lecture.getUserInfo() != null) && (lecture.getUserInfo() == currentUser)) {
-            lectureResource.add(linkTo(LectureController.class)
-                    .slash(lecture.getId()).withRel("update-lecture"));
+            lectureResource.add(LectureLinks.lecture(lectureResDto.getId(), "update-lecture"));
         }
-        return ResponseEntity.ok(lectureResource);
+        RequestPhases.stop(RequestPhase.LINKS, links);
+        return ResponseEntity.ok()
+                .eTag(LectureETags.of(id, lectureResDto.getVersion(), owner, fieldList))
+                .body(lectureResource);
     }
 
     @GetMapping
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<?> queryLectures(Pageable pageable,
+                                           @RequestParam(required = false) String fields,
                                            PagedResourcesAssembler<LectureResDto> assembler,
-                                           @CurrentUser UserInfo currentUser) {
-        Page<Lecture> page = this.lectureRepository.findAll(pageable);
+                                           PagedResourcesAssembler<Map<String, Object>> fieldsAssembler,
+                                           @CurrentUser UserInfo currentUser,
+                                           WebRequest webRequest) {
+        List<String> fieldList = LectureFields.parse(fields);
+        if (fieldList != null) {
+            return querySparseLectures(fieldList, pageable, fieldsAssembler, currentUser);
+        }
         //Page<LectureResDto> lectureResDtoPage = page.map(lecture -> modelMapper.map(lecture, LectureResDto.class));
-        Page<LectureResDto> lectureResDtoPage =
-                page.map(lecture -> {
-                    LectureResDto lectureResDto = new LectureResDto();
-                    if (lecture.getUserInfo() != null) {
-                        lectureResDto.setEmail(lecture.getUserInfo().getEmail());
-                    }
-                    modelMapper.map(lecture, lectureResDto);
-                    return lectureResDto;
-                });
+        //UserInfo 를 Lecture 마다 따로 조회하지 않도록 email 까지 한번에 projection
+        Page<LectureResDto> lectureResDtoPage = this.lectureRepository.findAllResDto(pageable);
+        //페이지의 id/version 이 같으면 HAL 변환/직렬화 없이 304
+        String eTag = LectureETags.ofPage(lectureResDtoPage);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         //PagedModel<EntityModel<LectureResDto>> pagedResources = assembler.toModel(lectureResDtoPage);
         //assembler.toModel(lectureResDtoPage, resDto -> new LectureResource(resDto));
-        PagedModel<LectureResource> pagedResources = assembler.toModel(lectureResDtoPage, LectureResource::new);
+        //row 마다 linkTo 를 호출하지 않고 요청의 base href 를 한번만 만든다
+        long links = RequestPhases.start();
+        String baseHref = LectureLinks.baseHref();
+        PagedModel<LectureResource> pagedResources =
+                assembler.toModel(lectureResDtoPage, resDto -> new LectureResource(resDto, baseHref));
+
+        if (currentUser != null) {
+            pagedResources.add(LectureLinks.lectures("create-Lecture"));
+        }
+        RequestPhases.stop(RequestPhase.LINKS, links);
+        return ResponseEntity.ok().eTag(eTag).body(pagedResources);
+    }
 
+    /*
+        fields 에 있는 컬럼만 SELECT 하고 그 필드만 응답 (email 이 없으면 UserInfo join 도 하지 않음)
+        version 을 조회하지 않으므로 ETag 는 없다
+     */
+    private ResponseEntity<?> querySparseLectures(List<String> fields,
+                                                  Pageable pageable,
+                                                  PagedResourcesAssembler<Map<String, Object>> assembler,
+                                                  UserInfo currentUser) {
+        Page<Map<String, Object>> page = this.lectureRepository.findAllFields(fields, pageable);
+        long links = RequestPhases.start();
+        String baseHref = LectureLinks.baseHref();
+        PagedModel<SparseLectureResource> pagedResources =
+                assembler.toModel(page, attributes -> new SparseLectureResource(attributes, baseHref));
         if (currentUser != null) {
-            pagedResources.add(linkTo(LectureController.class).withRel("create-Lecture"));
+            pagedResources.add(LectureLinks.lectures("create-Lecture"));
         }
+        RequestPhases.stop(RequestPhase.LINKS, links);
         return ResponseEntity.ok(pagedResources);
     }
 
+    //조건(LectureSearchCondition)을 조합한 검색, 결과는 queryLectures 와 같은 HAL 페이지
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<?> searchLectures(LectureSearchCondition condition,
+                                            Pageable pageable,
+                                            PagedResourcesAssembler<LectureResDto> assembler) {
+        Page<LectureResDto> lectureResDtoPage = this.lectureRepository.search(condition, pageable);
+        long links = RequestPhases.start();
+        String baseHref = LectureLinks.baseHref();
+        PagedModel<LectureResource> pagedResources =
+                assembler.toModel(lectureResDtoPage, resDto -> new LectureResource(resDto, baseHref));
+        RequestPhases.stop(RequestPhase.LINKS, links);
+        return ResponseEntity.ok(pagedResources);
+    }
+
+    /*
+        name, description 검색어(q) 검색 - LectureSearchIndex 의 TF-IDF 점수 순으로 size 개
+        영문/숫자는 단어의 앞부분, 한글은 2글자 단위로 일치하는 Lecture 를 찾는다
+     */
+    @GetMapping(value = "/search", params = "q")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<?> searchLecturesByText(@RequestParam String q,
+                                                  @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("size 는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.", HttpStatus.BAD_REQUEST);
+        }
+        List<Integer> ids = this.lectureSearchIndex.search(q, size).stream()
+                .map(LectureSearchIndex.Hit::id)
+                .toList();
+        //점수 순서대로 정렬 (색인 이후 삭제된 Lecture 는 제외)
+        Map<Integer, LectureResDto> lectureResDtos = ids.isEmpty() ? Map.of()
+                : this.lectureRepository.findResDtoByIdIn(ids).stream()
+                        .collect(Collectors.toMap(LectureResDto::getId, Function.identity()));
+        long links = RequestPhases.start();
+        String baseHref = LectureLinks.baseHref();
+        CollectionModel<LectureResource> collectionModel = CollectionModel.of(ids.stream()
+                .map(lectureResDtos::get)
+                .filter(Objects::nonNull)
+                .map(resDto -> new LectureResource(resDto, baseHref))
+                .toList());
+        collectionModel.add(Link.of(UriComponentsBuilder.fromHttpUrl(LectureLinks.lectureHref(baseHref, "search"))
+                .queryParam("q", q)
+                .queryParam("size", size)
+                .encode()
+                .toUriString()).withSelfRel());
+        RequestPhases.stop(RequestPhase.LINKS, links);
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    /*
+        전체 Lecture 를 NDJSON(기본) 또는 CSV 로 스트리밍 (name/free/offline 조건은 선택)
+        페이지/건수 조회 없이 JDBC cursor 로 읽은 row 를 바로 응답 stream 에 쓴다
+     */
+    @GetMapping(value = "/export", produces = {NDJSON_VALUE, CSV_VALUE})
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public void exportLectures(@RequestParam(defaultValue = "ndjson") String format,
+                               @RequestParam(required = false) String name,
+                               @RequestParam(required = false) Boolean free,
+                               @RequestParam(required = false) Boolean offline,
+                               HttpServletResponse response) throws IOException {
+        //locale 에 따라 대소문자 변환이 달라지지 않도록 Locale.ROOT 사용 (예: tr 의 dotless i)
+        String formatName = format.toLowerCase(Locale.ROOT);
+        LectureExporter.Format exportFormat = switch (formatName) {
+            case "ndjson" -> LectureExporter.Format.NDJSON;
+            case "csv" -> LectureExporter.Format.CSV;
+            default -> throw new BusinessException("지원하지 않는 format 입니다: " + format, HttpStatus.BAD_REQUEST);
+        };
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(exportFormat == LectureExporter.Format.CSV ? CSV_VALUE : NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("lectures." + formatName)
+                .build().toString());
+        lectureExporter.export(new LectureExporter.Filter(name, free, offline), exportFormat,
+                response.getOutputStream());
+    }
+
+    /*
+        Keyset(seek) 페이징 - after 파라미터가 있을 때 (빈 값이면 첫 페이지)
+        전체 건수를 세지 않고, 다음 페이지가 있으면 next 링크에 cursor 를 담아서 제공
+     */
+    @GetMapping(params = "after")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<?> queryLecturesAfter(@RequestParam String after,
+                                                @RequestParam(defaultValue = LectureCursor.SORT_ID) String sort,
+                                                @RequestParam(defaultValue = "20") int size,
+                                                @CurrentUser UserInfo currentUser) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("size 는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.", HttpStatus.BAD_REQUEST);
+        }
+        LectureCursor cursor = after.isEmpty() ? LectureCursor.first(sort) : LectureCursor.decode(after);
+
+        //다음 페이지 존재 여부를 알기 위해 size + 1 개 조회
+        List<LectureResDto> lectureResDtos = seekLectures(cursor, Limit.of(size + 1));
+        boolean hasNext = lectureResDtos.size() > size;
+        if (hasNext) {
+            lectureResDtos = lectureResDtos.subList(0, size);
+        }
+
+        long links = RequestPhases.start();
+        String baseHref = LectureLinks.baseHref();
+        CollectionModel<LectureResource> collectionModel = CollectionModel.of(lectureResDtos.stream()
+                .map(resDto -> new LectureResource(resDto, baseHref))
+                .toList());
+        collectionModel.add(cursorLink(after, cursor.sort(), size, IanaLinkRelations.SELF));
+        if (hasNext) {
+            String nextCursor = cursor.next(lectureResDtos.get(size - 1)).encode();
+            collectionModel.add(cursorLink(nextCursor, cursor.sort(), size, IanaLinkRelations.NEXT));
+        }
+        if (currentUser != null) {
+            collectionModel.add(LectureLinks.lectures("create-Lecture"));
+        }
+        RequestPhases.stop(RequestPhase.LINKS, links);
+        return ResponseEntity.ok(collectionModel);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateLecture(@PathVariable Integer id,
                                            @RequestBody @Valid LectureReqDto lectureReqDto,
                                            Errors errors,
-                                           @CurrentUser UserInfo currentUser  ) {
+                                           @CurrentUser UserInfo currentUser,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         String errMsg = String.format("Id = %d Lecture Not Found", id);
         Lecture existingLecture = this.lectureRepository.findById(id)
                         .orElseThrow(() -> new BusinessException(errMsg, HttpStatus.NOT_FOUND));
 
         //Lecture가 참조하는 UserInfo 객체와 인증한 UserInfo 객체가 다르면 403 인증 오류
-        if((existingLecture.getUserInfo() != null) && (!existingLecture.getUserInfo().equals(currentUser))) {
+        if((existingLecture.getUserInfo() != null) && (!isOwner(existingLecture.getUserInfo().getId(), currentUser))) {
             throw new AccessDeniedException("등록한 User와 수정을 요청한 User가 다릅니다.");
             //return new ResponseEntity(HttpStatus.UNAUTHORIZED);
         }
 
+        //If-Match 의 ETag 가 현재 version 과 다르면 412
+        if (ifMatch != null && !LectureETags.matches(ifMatch, id, existingLecture.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                    String.format("Id = %d Lecture 가 이미 수정되었습니다.", id));
+        }
+
         //입력항목 체크
         if (errors.hasErrors()) {
             return getErrors(errors);
@@ -129,18 +338,25 @@ public class LectureController {
             return getErrors(errors);
         }
         //ReqDto -> Entity
-        this.modelMapper.map(lectureReqDto, existingLecture);
+        this.lectureMapper.updateEntity(lectureReqDto, existingLecture);
         //free, offline 값 업데이트
         existingLecture.update();
 
         Lecture savedLecture = this.lectureRepository.save(existingLecture);
-        LectureResDto lectureResDto = modelMapper.map(savedLecture, LectureResDto.class);
-        //Lecture 객체와 연관된 UserInfo 객체가 있다면 LectureResDto에 email을 set
-        if(savedLecture.getUserInfo() != null)
-            lectureResDto.setEmail(savedLecture.getUserInfo().getEmail());
+        //commit 후 캐시 제거
+        eventPublisher.publishEvent(LectureChangedEvent.of(savedLecture));
+        //Lecture 객체와 연관된 UserInfo 객체가 있다면 email 도 함께 변환
+        LectureResDto lectureResDto = lectureMapper.toResDto(savedLecture);
 
+        long links = RequestPhases.start();
         LectureResource lectureResource = new LectureResource(lectureResDto);
-        return ResponseEntity.ok(lectureResource);
+        RequestPhases.stop(RequestPhase.LINKS, links);
+        //소유자가 없는 Lecture 를 수정한 경우는 getLecture 와 같이 owner 가 아닌 ETag
+        boolean owner = savedLecture.getUserInfo() != null
+                && isOwner(savedLecture.getUserInfo().getId(), currentUser);
+        return ResponseEntity.ok()
+                .eTag(LectureETags.of(id, savedLecture.getVersion(), owner))
+                .body(lectureResource);
     }
 
     @PostMapping
@@ -160,7 +376,7 @@ public class LectureController {
         }
         
         //ReqDto => Entity 변환
-        Lecture lecture = modelMapper.map(lectureReqDto, Lecture.class);
+        Lecture lecture = lectureMapper.toEntity(lectureReqDto);
         //free와 offline 값을 update
         lecture.update();
 
@@ -168,20 +384,94 @@ public class LectureController {
         lecture.setUserInfo(currentUser);
 
         Lecture addLecture = this.lectureRepository.save(lecture);
-        //Entity => ResDto 변환
-        LectureResDto lectureResDto = modelMapper.map(addLecture, LectureResDto.class);
+        eventPublisher.publishEvent(LectureChangedEvent.of(addLecture));
+        //Entity => ResDto 변환 (UserInfo 객체의 email 포함)
+        LectureResDto lectureResDto = lectureMapper.toResDto(addLecture);
 
-        //LectureResDto 에 UserInfo 객체의 email set
-        lectureResDto.setEmail(addLecture.getUserInfo().getEmail());
-
-        WebMvcLinkBuilder selfLinkBuilder = linkTo(LectureController.class)
-                .slash(addLecture.getId());
-        URI createUri = selfLinkBuilder.toUri();
+        long links = RequestPhases.start();
+        Link updateLink = LectureLinks.lecture(addLecture.getId(), "update-lecture");
+        URI createUri = updateLink.toUri();
 
         LectureResource lectureResource = new LectureResource(lectureResDto);
-        lectureResource.add(linkTo(LectureController.class).withRel("query-lectures"));
-        lectureResource.add(selfLinkBuilder.withRel("update-lecture"));
-        return ResponseEntity.created(createUri).body(lectureResource);
+        lectureResource.add(LectureLinks.lectures("query-lectures"));
+        lectureResource.add(updateLink);
+        RequestPhases.stop(RequestPhase.LINKS, links);
+        return ResponseEntity.created(createUri)
+                .eTag(LectureETags.of(addLecture.getId(), addLecture.getVersion(), true))
+                .body(lectureResource);
+    }
+
+    private List<LectureResDto> seekLectures(LectureCursor cursor, Limit limit) {
+        if (LectureCursor.SORT_BEGIN_LECTURE_DATE_TIME.equals(cursor.sort())) {
+            return cursor.isFirst()
+                    ? lectureRepository.findResDtoOrderByBeginLectureDateTime(limit)
+                    : lectureRepository.findResDtoAfterBeginLectureDateTime(cursor.dateTimeValue(), cursor.id(), limit);
+        }
+        return lectureRepository.findResDtoAfterId(cursor.id(), limit);
+    }
+
+    private static Link cursorLink(String after, String sort, int size, LinkRelation rel) {
+        String href = UriComponentsBuilder.fromHttpUrl(LectureLinks.baseHref())
+                .queryParam("after", after)
+                .queryParam("sort", sort)
+                .queryParam("size", size)
+                .toUriString();
+        return Link.of(href, rel);
+    }
+
+    /*
+        여러 Lecture 를 한번에 등록 (하나라도 오류가 있으면 저장하지 않음)
+        오류는 ErrorsResource 형식으로, field 에 lectures[index] 를 포함해서 리턴
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createLectures(@RequestBody List<LectureReqDto> lectureReqDtos,
+                                            @CurrentUser UserInfo currentUser) {
+        if (lectureReqDtos.isEmpty() || lectureReqDtos.size() > maxBatchSize) {
+            throw new BusinessException("한번에 1 ~ " + maxBatchSize + " 개까지 등록할 수 있습니다.", HttpStatus.BAD_REQUEST);
+        }
+        LectureBatchReqDto batchReqDto = new LectureBatchReqDto(lectureReqDtos);
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(batchReqDto, "lectureBatchReqDto");
+
+        //입력항목 체크 (@Valid 로 각 요소까지 검증)
+        new SpringValidatorAdapter(validator).validate(batchReqDto, errors);
+        //biz logic 입력항목 체크, 입력항목 오류가 없는 요소만
+        for (int i = 0; i < lectureReqDtos.size(); i++) {
+            errors.pushNestedPath("lectures[" + i + "]");
+            if (lectureReqDtos.get(i) != null && errors.getFieldErrorCount("*") == 0) {
+                lectureValidator.validate(lectureReqDtos.get(i), errors);
+            }
+            errors.popNestedPath();
+        }
+        if (errors.hasErrors()) {
+            return getErrors(errors);
+        }
+
+        //ReqDto => Entity 변환, free/offline 값 update, UserInfo 연관관계 설정
+        List<Lecture> lectures = lectureReqDtos.stream()
+                .map(lectureReqDto -> {
+                    Lecture lecture = lectureMapper.toEntity(lectureReqDto);
+                    lecture.update();
+                    lecture.setUserInfo(currentUser);
+                    return lecture;
+                })
+                .toList();
+        //한 transaction 에서 JDBC batch insert (hibernate.jdbc.batch_size)
+        List<Lecture> addLectures = this.lectureRepository.saveAll(lectures);
+        addLectures.forEach(lecture -> eventPublisher.publishEvent(LectureChangedEvent.of(lecture)));
+
+        String baseHref = LectureLinks.baseHref();
+        CollectionModel<LectureResource> collectionModel = CollectionModel.of(addLectures.stream()
+                .map(lectureMapper::toResDto)
+                .map(resDto -> new LectureResource(resDto, baseHref))
+                .toList());
+        collectionModel.add(LectureLinks.lectures("query-lectures"));
+        return ResponseEntity.status(HttpStatus.CREATED).body(collectionModel);
+    }
+
+    //stateless 모드의 principal 은 claim 으로 만든 UserInfo 이므로 equals 대신 id 로 비교
+    //(userInfo 는 지연 로딩이므로 proxy 의 id 만 사용)
+    private static boolean isOwner(Integer ownerId, UserInfo currentUser) {
+        return ownerId != null && currentUser != null && ownerId == currentUser.getId();
     }
 
     private static ResponseEntity<ErrorsResource> getErrors(Errors errors) {
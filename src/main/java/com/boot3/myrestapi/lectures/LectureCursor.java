@@ -0,0 +1,73 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/*
+    Keyset(seek) 페이징의 cursor - 정렬 key, 마지막 row 의 정렬 값, 마지막 row 의 id
+    클라이언트에는 "sort|value|id" 를 Base64URL 로 인코딩한 문자열(after 파라미터)로 전달한다.
+ */
+public record LectureCursor(String sort, String value, int id) {
+    public static final String SORT_ID = "id";
+    public static final String SORT_BEGIN_LECTURE_DATE_TIME = "beginLectureDateTime";
+
+    private static final String SEPARATOR = "|";
+
+    //첫 페이지 (id 는 1부터 시작)
+    public static LectureCursor first(String sort) {
+        checkSort(sort);
+        return new LectureCursor(sort, "", 0);
+    }
+
+    //페이지의 마지막 row 다음부터 조회하는 cursor
+    public LectureCursor next(LectureResDto last) {
+        String nextValue = SORT_BEGIN_LECTURE_DATE_TIME.equals(sort)
+                ? last.getBeginLectureDateTime().toString()
+                : "";
+        return new LectureCursor(sort, nextValue, last.getId());
+    }
+
+    public boolean isFirst() {
+        return id == 0;
+    }
+
+    public LocalDateTime dateTimeValue() {
+        return LocalDateTime.parse(value);
+    }
+
+    public String encode() {
+        String raw = sort + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LectureCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(raw);
+            }
+            LectureCursor cursor = new LectureCursor(parts[0], parts[1], Integer.parseInt(parts[2]));
+            checkSort(cursor.sort());
+            if (SORT_BEGIN_LECTURE_DATE_TIME.equals(cursor.sort())) {
+                cursor.dateTimeValue();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("잘못된 cursor 입니다.", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static void checkSort(String sort) {
+        if (!SORT_ID.equals(sort) && !SORT_BEGIN_LECTURE_DATE_TIME.equals(sort)) {
+            throw new BusinessException("지원하지 않는 정렬 key 입니다: " + sort, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
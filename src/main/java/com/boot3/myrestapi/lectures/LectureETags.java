@@ -0,0 +1,73 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/*
+    Lecture 응답의 ETag
+    - 단건: id 와 version 으로 만든 strong ETag, 등록자는 update 링크가 포함된 다른 표현을 받으므로 "-owner" 를 붙인다
+      fields(sparse fieldset) 응답은 필드 목록의 hash 를 "-f" 뒤에 붙인다
+    - 목록: 페이지 정보와 페이지에 포함된 id/version 으로 만든 weak ETag
+ */
+final class LectureETags {
+    private static final String OWNER_SUFFIX = "-owner";
+    private static final String FIELDS_SUFFIX = "-f";
+
+    private LectureETags() {
+    }
+
+    static String of(Integer id, Integer version, boolean owner) {
+        return "\"" + id + "-" + version + (owner ? OWNER_SUFFIX : "") + "\"";
+    }
+
+    static String of(Integer id, Integer version, boolean owner, List<String> fields) {
+        if (fields == null) {
+            return of(id, version, owner);
+        }
+        return "\"" + id + "-" + version + (owner ? OWNER_SUFFIX : "") + FIELDS_SUFFIX
+                + Integer.toHexString(String.join(",", fields).hashCode()) + "\"";
+    }
+
+    //If-Match 헤더에 "*" 또는 현재 id/version 과 같은 strong ETag 가 있으면 true
+    static boolean matches(String ifMatch, Integer id, Integer version) {
+        String current = id + "-" + version;
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            //If-Match 는 strong 비교만 허용
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            if (value.equals(current) || value.equals(current + OWNER_SUFFIX)
+                    || value.startsWith(current + FIELDS_SUFFIX) || value.startsWith(current + OWNER_SUFFIX + FIELDS_SUFFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String ofPage(Page<LectureResDto> page) {
+        //64bit FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, page.getPageable().toString().hashCode());
+        hash = mix(hash, Long.hashCode(page.getTotalElements()));
+        for (LectureResDto resDto : page) {
+            hash = mix(hash, resDto.getId());
+            hash = mix(hash, resDto.getVersion() == null ? -1 : resDto.getVersion());
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
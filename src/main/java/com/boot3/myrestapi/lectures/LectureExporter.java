@@ -0,0 +1,242 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Lecture 전체를 NDJSON 또는 CSV 로 OutputStream 에 바로 쓰는 export
+    - JPA 영속성 컨텍스트를 거치지 않고 fetch-size 가 설정된 JDBC cursor 로 한 row 씩 읽는다
+    - row 마다 LectureResDto 하나를 재사용하고 바로 쓰므로 전체 건수와 관계없이 메모리 사용량이 일정하다
+ */
+@Component
+public class LectureExporter {
+    public enum Format { NDJSON, CSV }
+
+    private static final String CSV_HEADER = "id,name,description,beginEnrollmentDateTime,closeEnrollmentDateTime," +
+            "beginLectureDateTime,endLectureDateTime,location,basePrice,maxPrice,limitOfEnrollment,offline,free,email," +
+            "lectureStatus";
+
+    private static final String SELECT = "select l.id, l.name, l.description, " +
+            "l.begin_enrollment_date_time, l.close_enrollment_date_time, " +
+            "l.begin_lecture_date_time, l.end_lecture_date_time, " +
+            "l.location, l.base_price, l.max_price, l.limit_of_enrollment, l.offline, l.free, u.email, l.lecture_status " +
+            "from lectures l left join user_info u on u.id = l.user_info_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public LectureExporter(DataSource dataSource,
+                           ObjectMapper objectMapper,
+                           @Value("${lectures.export.fetch-size:500}") int fetchSize) {
+        //export 전용 JdbcTemplate (fetch-size 만큼씩 DB 에서 가져옴)
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    //조건 (null 이면 조건 없음)
+    public record Filter(String name, Boolean free, Boolean offline) {
+    }
+
+    //export 한 row 수 리턴
+    public long export(Filter filter, Format format, OutputStream out) throws IOException {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT + where(filter, args) + " order by l.id";
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        LectureResDto row = new LectureResDto();
+        long[] count = {0};
+        try {
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                fill(row, rs);
+                try {
+                    rowWriter.write(row);
+                } catch (IOException e) {
+                    //클라이언트 연결이 끊어지면 조회도 중단
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            }, args.toArray());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rowWriter.close();
+        return count[0];
+    }
+
+    private static String where(Filter filter, List<Object> args) {
+        if (filter == null) {
+            return "";
+        }
+        List<String> conditions = new ArrayList<>();
+        if (filter.name() != null && !filter.name().isBlank()) {
+            //검색 API 와 같이 %, _ 를 문자 그대로 비교 (escape 문자는 DB 마다 literal 표기가 달라서 parameter 로 전달)
+            conditions.add("l.name like ? escape ?");
+            args.add("%" + LectureRepositoryImpl.escapeLike(filter.name()) + "%");
+            args.add("\\");
+        }
+        if (filter.free() != null) {
+            conditions.add("l.free = ?");
+            args.add(filter.free());
+        }
+        if (filter.offline() != null) {
+            conditions.add("l.offline = ?");
+            args.add(filter.offline());
+        }
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+
+    private static void fill(LectureResDto row, ResultSet rs) throws SQLException {
+        row.setId(rs.getInt(1));
+        row.setName(rs.getString(2));
+        row.setDescription(rs.getString(3));
+        row.setBeginEnrollmentDateTime(toLocalDateTime(rs.getTimestamp(4)));
+        row.setCloseEnrollmentDateTime(toLocalDateTime(rs.getTimestamp(5)));
+        row.setBeginLectureDateTime(toLocalDateTime(rs.getTimestamp(6)));
+        row.setEndLectureDateTime(toLocalDateTime(rs.getTimestamp(7)));
+        row.setLocation(rs.getString(8));
+        row.setBasePrice(rs.getInt(9));
+        row.setMaxPrice(rs.getInt(10));
+        row.setLimitOfEnrollment(rs.getInt(11));
+        row.setOffline(rs.getBoolean(12));
+        row.setFree(rs.getBoolean(13));
+        row.setEmail(rs.getString(14));
+        String lectureStatus = rs.getString(15);
+        row.setLectureStatus(lectureStatus == null ? null : LectureStatus.valueOf(lectureStatus));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private interface RowWriter {
+        void write(LectureResDto row) throws IOException;
+
+        void close() throws IOException;
+    }
+
+    //한 줄에 LectureResDto JSON 하나 (GET /api/lectures/{id} 와 같은 필드/날짜 형식)
+    private class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final SequenceWriter sequenceWriter;
+        private boolean empty = true;
+
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.sequenceWriter = objectMapper.writerFor(LectureResDto.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(writer);
+        }
+
+        @Override
+        public void write(LectureResDto row) throws IOException {
+            sequenceWriter.write(row);
+            empty = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            sequenceWriter.flush();
+            if (!empty) {
+                writer.write('\n');
+            }
+            writer.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(LectureResDto row) throws IOException {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writeText(row.getName());
+            writer.write(',');
+            writeText(row.getDescription());
+            writer.write(',');
+            writeDateTime(row.getBeginEnrollmentDateTime());
+            writer.write(',');
+            writeDateTime(row.getCloseEnrollmentDateTime());
+            writer.write(',');
+            writeDateTime(row.getBeginLectureDateTime());
+            writer.write(',');
+            writeDateTime(row.getEndLectureDateTime());
+            writer.write(',');
+            writeText(row.getLocation());
+            writer.write(',');
+            writer.write(String.valueOf(row.getBasePrice()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getMaxPrice()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getLimitOfEnrollment()));
+            writer.write(',');
+            writer.write(String.valueOf(row.isOffline()));
+            writer.write(',');
+            writer.write(String.valueOf(row.isFree()));
+            writer.write(',');
+            writeText(row.getEmail());
+            writer.write(',');
+            if (row.getLectureStatus() != null) {
+                writer.write(row.getLectureStatus().name());
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private void writeDateTime(LocalDateTime dateTime) throws IOException {
+            if (dateTime != null) {
+                LectureResDto.DATE_TIME_FORMATTER.formatTo(dateTime, writer);
+            }
+        }
+
+        //RFC 4180 - 구분자/따옴표/줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두번 쓴다
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
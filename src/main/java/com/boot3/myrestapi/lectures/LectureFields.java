@@ -0,0 +1,96 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+    fields 파라미터(sparse fieldset)로 요청할 수 있는 LectureResDto 응답 필드
+    - 응답 JSON 과 같은 순서, 같은 형식(LocalDateTime 은 "yyyy-MM-dd HH:mm", enum 은 이름)으로 값을 만든다
+    - self link 를 만들어야 하므로 id 는 항상 포함
+    - email 외에는 Lecture entity 의 속성 이름과 같다 (email 은 UserInfo 의 email)
+ */
+public final class LectureFields {
+    public static final String ID = "id";
+    public static final String EMAIL = "email";
+
+    //응답 필드 이름 => LectureResDto getter (LectureResDto 의 응답 필드 순서)
+    private static final Map<String, Function<LectureResDto, Object>> GETTERS = new LinkedHashMap<>();
+
+    static {
+        GETTERS.put(ID, LectureResDto::getId);
+        GETTERS.put("name", LectureResDto::getName);
+        GETTERS.put("description", LectureResDto::getDescription);
+        GETTERS.put("beginEnrollmentDateTime", LectureResDto::getBeginEnrollmentDateTime);
+        GETTERS.put("closeEnrollmentDateTime", LectureResDto::getCloseEnrollmentDateTime);
+        GETTERS.put("beginLectureDateTime", LectureResDto::getBeginLectureDateTime);
+        GETTERS.put("endLectureDateTime", LectureResDto::getEndLectureDateTime);
+        GETTERS.put("location", LectureResDto::getLocation);
+        GETTERS.put("basePrice", LectureResDto::getBasePrice);
+        GETTERS.put("maxPrice", LectureResDto::getMaxPrice);
+        GETTERS.put("limitOfEnrollment", LectureResDto::getLimitOfEnrollment);
+        GETTERS.put("offline", LectureResDto::isOffline);
+        GETTERS.put("free", LectureResDto::isFree);
+        GETTERS.put(EMAIL, LectureResDto::getEmail);
+        GETTERS.put("lectureStatus", LectureResDto::getLectureStatus);
+    }
+
+    public static final List<String> ALL = List.copyOf(GETTERS.keySet());
+
+    private LectureFields() {
+    }
+
+    /*
+        "id,name,lectureStatus" => [id, name, lectureStatus] (응답 필드 순서, 중복 제거)
+        null 또는 빈 값이면 null (전체 필드), 지원하지 않는 필드가 있으면 400
+     */
+    public static List<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        List<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .toList();
+        for (String field : requested) {
+            if (!GETTERS.containsKey(field)) {
+                throw new BusinessException("지원하지 않는 field 입니다: " + field, HttpStatus.BAD_REQUEST);
+            }
+        }
+        List<String> selected = new ArrayList<>();
+        for (String field : ALL) {
+            if (field.equals(ID) || requested.contains(field)) {
+                selected.add(field);
+            }
+        }
+        return selected;
+    }
+
+    //LectureResDto 에서 fields 만 꺼낸 응답 값
+    public static Map<String, Object> attributes(LectureResDto resDto, List<String> fields) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (String field : fields) {
+            attributes.put(field, value(GETTERS.get(field).apply(resDto)));
+        }
+        return attributes;
+    }
+
+    //LocalDateTime, enum 을 응답 JSON 과 같은 문자열로
+    public static Object value(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return LectureResDto.DATE_TIME_FORMATTER.format(dateTime);
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,52 @@
+package com.boot3.myrestapi.lectures;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/*
+    LectureController 의 link href 생성
+    linkTo(LectureController.class) 는 호출할 때마다 controller mapping 과 현재 요청 URI 를 다시 분석하므로
+    요청마다 한번만 만든 base href("http://host:port/api/lectures")를 request attribute 에 두고 문자열을 이어 붙인다.
+    결과는 linkTo(LectureController.class).slash(id) 와 같다.
+ */
+public final class LectureLinks {
+    private static final String BASE_HREF_ATTRIBUTE = LectureLinks.class.getName() + ".baseHref";
+
+    private LectureLinks() {
+    }
+
+    //요청 처리 중이 아니면 캐시하지 않음
+    public static String baseHref() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return linkTo(LectureController.class).withSelfRel().getHref();
+        }
+        String baseHref = (String) attributes.getAttribute(BASE_HREF_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseHref == null) {
+            baseHref = linkTo(LectureController.class).withSelfRel().getHref();
+            attributes.setAttribute(BASE_HREF_ATTRIBUTE, baseHref, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseHref;
+    }
+
+    //base href + "/" + id
+    public static String lectureHref(String baseHref, Object id) {
+        return baseHref + "/" + id;
+    }
+
+    public static Link lecture(Object id, String rel) {
+        return Link.of(lectureHref(baseHref(), id), rel);
+    }
+
+    public static Link lectures(String rel) {
+        return Link.of(baseHref(), rel);
+    }
+
+    public static Link lectures(LinkRelation rel) {
+        return Link.of(baseHref(), rel);
+    }
+}
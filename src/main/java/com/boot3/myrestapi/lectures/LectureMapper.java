@@ -0,0 +1,66 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.common.monitor.RequestPhase;
+import com.boot3.myrestapi.common.monitor.RequestPhases;
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import org.springframework.stereotype.Component;
+
+/*
+    Lecture <-> LectureReqDto/LectureResDto 변환
+    ModelMapper 와 같은 결과를 reflection 없이 getter/setter 호출만으로 만든다.
+    Lecture, Dto 에 필드를 추가하면 여기에도 추가해야 한다. (LectureMapperTest 가 ModelMapper 결과와 비교)
+ */
+@Component
+public class LectureMapper {
+
+    //Entity => ResDto 변환 (UserInfo 의 email 포함)
+    public LectureResDto toResDto(Lecture lecture) {
+        long start = RequestPhases.start();
+        LectureResDto resDto = new LectureResDto();
+        resDto.setId(lecture.getId());
+        resDto.setName(lecture.getName());
+        resDto.setDescription(lecture.getDescription());
+        resDto.setBeginEnrollmentDateTime(lecture.getBeginEnrollmentDateTime());
+        resDto.setCloseEnrollmentDateTime(lecture.getCloseEnrollmentDateTime());
+        resDto.setBeginLectureDateTime(lecture.getBeginLectureDateTime());
+        resDto.setEndLectureDateTime(lecture.getEndLectureDateTime());
+        resDto.setLocation(lecture.getLocation());
+        resDto.setBasePrice(lecture.getBasePrice());
+        resDto.setMaxPrice(lecture.getMaxPrice());
+        resDto.setLimitOfEnrollment(lecture.getLimitOfEnrollment());
+        resDto.setOffline(lecture.isOffline());
+        resDto.setFree(lecture.isFree());
+        resDto.setLectureStatus(lecture.getLectureStatus());
+        resDto.setVersion(lecture.getVersion());
+        if (lecture.getUserInfo() != null) {
+            resDto.setEmail(lecture.getUserInfo().getEmail());
+            resDto.setOwnerId(lecture.getUserInfo().getId());
+        }
+        RequestPhases.stop(RequestPhase.MAPPING, start);
+        return resDto;
+    }
+
+    //ReqDto => Entity 변환
+    public Lecture toEntity(LectureReqDto reqDto) {
+        Lecture lecture = new Lecture();
+        updateEntity(reqDto, lecture);
+        return lecture;
+    }
+
+    //ReqDto 의 값을 기존 Entity 에 복사 (id, userInfo, lectureStatus 는 변경하지 않음)
+    public void updateEntity(LectureReqDto reqDto, Lecture lecture) {
+        long start = RequestPhases.start();
+        lecture.setName(reqDto.getName());
+        lecture.setDescription(reqDto.getDescription());
+        lecture.setBeginEnrollmentDateTime(reqDto.getBeginEnrollmentDateTime());
+        lecture.setCloseEnrollmentDateTime(reqDto.getCloseEnrollmentDateTime());
+        lecture.setBeginLectureDateTime(reqDto.getBeginLectureDateTime());
+        lecture.setEndLectureDateTime(reqDto.getEndLectureDateTime());
+        lecture.setLocation(reqDto.getLocation());
+        lecture.setBasePrice(reqDto.getBasePrice());
+        lecture.setMaxPrice(reqDto.getMaxPrice());
+        lecture.setLimitOfEnrollment(reqDto.getLimitOfEnrollment());
+        RequestPhases.stop(RequestPhase.MAPPING, start);
+    }
+}
@@ -0,0 +1,54 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/*
+    GET /api/lectures/{id} 응답용 LectureResDto 캐시 (id => LectureResDto)
+    - 크기와 TTL 로 제한되고, LectureChangedEvent 를 받으면 commit 후에 제거한다
+    - 같은 id 의 조회(load)가 진행 중일 때 invalidate 는 load 가 끝날 때까지 기다렸다가 제거하므로
+      commit 이전에 읽은 값이 invalidate 이후까지 캐시에 남지 않는다
+    - 캐시된 LectureResDto 는 여러 요청이 공유하므로 수정하면 안된다
+ */
+@Component
+public class LectureReadCache {
+    private final Cache<Integer, LectureResDto> cache;
+
+    public LectureReadCache(@Value("${lectures.cache.max-size:10000}") long maxSize,
+                            @Value("${lectures.cache.ttl:10m}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        //cache.gets(hit/miss), cache.evictions 등의 메트릭 등록
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "lectureCache");
+    }
+
+    //캐시에 없으면 loader 로 조회, 조회 결과가 없으면 캐시하지 않음
+    public Optional<LectureResDto> get(Integer id, Function<Integer, Optional<LectureResDto>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    //캐시에 있을 때만 리턴 (DB 조회 없음)
+    public Optional<LectureResDto> getIfPresent(Integer id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    //transaction 이 없으면(fallbackExecution) 발행 즉시 실행
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectureChanged(LectureChangedEvent event) {
+        cache.invalidate(event.id());
+    }
+}
@@ -1,9 +1,62 @@
 package com.boot3.myrestapi.lectures;
 
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+public interface LectureRepository extends JpaRepository<Lecture, Integer>, LectureRepositoryCustom {
+    //Lecture + 등록한 UserInfo 의 email/id, version 을 SQL 한번으로 조회 (LectureResDto 의 @AllArgsConstructor 필드 순서)
+    String RES_DTO_SELECT = "select new com.boot3.myrestapi.lectures.dto.LectureResDto(" +
+            "l.id, l.name, l.description, " +
+            "l.beginEnrollmentDateTime, l.closeEnrollmentDateTime, l.beginLectureDateTime, l.endLectureDateTime, " +
+            "l.location, l.basePrice, l.maxPrice, l.limitOfEnrollment, l.offline, l.free, " +
+            "u.email, l.lectureStatus, u.id, l.version) " +
+            "from Lecture l left join l.userInfo u";
 
-public interface LectureRepository extends JpaRepository<Lecture, Integer> {
     List<Lecture> findByName(String name);
-}
\ No newline at end of file
+
+    //If-None-Match 확인용, version 과 등록자 id 만 조회
+    @Query("select new com.boot3.myrestapi.lectures.LectureVersion(l.version, u.id) " +
+            "from Lecture l left join l.userInfo u where l.id = :id")
+    Optional<LectureVersion> findVersionById(@Param("id") Integer id);
+
+    @Query(value = RES_DTO_SELECT, countQuery = "select count(l) from Lecture l")
+    Page<LectureResDto> findAllResDto(Pageable pageable);
+
+    @Query(RES_DTO_SELECT + " where l.id = :id")
+    Optional<LectureResDto> findResDtoById(@Param("id") Integer id);
+
+    //Keyset(seek) 페이징 - OFFSET/COUNT 없이 마지막 row 다음부터 limit 개 조회
+    @Query(RES_DTO_SELECT + " where l.id > :id order by l.id")
+    List<LectureResDto> findResDtoAfterId(@Param("id") int id, Limit limit);
+
+    @Query(RES_DTO_SELECT + " order by l.beginLectureDateTime, l.id")
+    List<LectureResDto> findResDtoOrderByBeginLectureDateTime(Limit limit);
+
+    @Query(RES_DTO_SELECT + " where l.beginLectureDateTime > :value" +
+            " or (l.beginLectureDateTime = :value and l.id > :id)" +
+            " order by l.beginLectureDateTime, l.id")
+    List<LectureResDto> findResDtoAfterBeginLectureDateTime(@Param("value") LocalDateTime value,
+                                                            @Param("id") int id, Limit limit);
+
+    @Query(RES_DTO_SELECT + " where l.id in :ids")
+    List<LectureResDto> findResDtoByIdIn(@Param("ids") Collection<Integer> ids);
+
+    //LectureSearchIndex 색인용 (id 순서로 limit 개씩)
+    @Query("select new com.boot3.myrestapi.lectures.LectureText(l.id, l.name, l.description) " +
+            "from Lecture l where l.id > :id order by l.id")
+    List<LectureText> findTextAfterId(@Param("id") int id, Limit limit);
+
+    @Query("select new com.boot3.myrestapi.lectures.LectureText(l.id, l.name, l.description) " +
+            "from Lecture l where l.id = :id")
+    Optional<LectureText> findTextById(@Param("id") Integer id);
+}
@@ -0,0 +1,17 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.lectures.dto.LectureSearchCondition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+
+public interface LectureRepositoryCustom {
+    //조건을 조합한 SQL 한번 (+ 필요할 때만 count) 으로 LectureResDto 페이지 조회
+    Page<LectureResDto> search(LectureSearchCondition condition, Pageable pageable);
+
+    //LectureFields 의 fields 컬럼만 SELECT 해서 (필드 이름 => 응답 값) 페이지 조회, email 이 없으면 UserInfo join 안함
+    Page<Map<String, Object>> findAllFields(List<String> fields, Pageable pageable);
+}
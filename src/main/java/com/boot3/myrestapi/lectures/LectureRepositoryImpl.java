@@ -0,0 +1,143 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.lectures.dto.LectureSearchCondition;
+import com.boot3.myrestapi.security.userinfos.UserInfo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    LectureRepository 의 Criteria API 검색 구현 (Spring Data 가 Impl 접미사로 찾아서 합친다)
+ */
+class LectureRepositoryImpl implements LectureRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<LectureResDto> search(LectureSearchCondition condition, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<LectureResDto> query = cb.createQuery(LectureResDto.class);
+        Root<Lecture> lecture = query.from(Lecture.class);
+        Join<Lecture, UserInfo> userInfo = lecture.join("userInfo", JoinType.LEFT);
+        //LectureRepository.RES_DTO_SELECT 와 같은 생성자 projection
+        query.select(cb.construct(LectureResDto.class,
+                lecture.get("id"), lecture.get("name"), lecture.get("description"),
+                lecture.get("beginEnrollmentDateTime"), lecture.get("closeEnrollmentDateTime"),
+                lecture.get("beginLectureDateTime"), lecture.get("endLectureDateTime"),
+                lecture.get("location"), lecture.get("basePrice"), lecture.get("maxPrice"),
+                lecture.get("limitOfEnrollment"), lecture.get("offline"), lecture.get("free"),
+                userInfo.get("email"), lecture.get("lectureStatus"), userInfo.get("id"), lecture.get("version")));
+        query.where(predicates(condition, cb, lecture));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), lecture, cb));
+        }
+
+        TypedQuery<LectureResDto> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<LectureResDto> content = typedQuery.getResultList();
+
+        //마지막 페이지처럼 content 로 전체 건수를 알 수 있으면 count 를 실행하지 않음
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(condition, cb));
+    }
+
+    @Override
+    public Page<Map<String, Object>> findAllFields(List<String> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Lecture> lecture = query.from(Lecture.class);
+        List<Path<Object>> paths = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            paths.add(LectureFields.EMAIL.equals(field)
+                    ? lecture.join("userInfo", JoinType.LEFT).get("email")
+                    : lecture.get(field));
+        }
+        query.multiselect(new ArrayList<>(paths));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), lecture, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = typedQuery.getResultList().stream()
+                .map(tuple -> {
+                    Map<String, Object> attributes = new LinkedHashMap<>();
+                    for (int i = 0; i < fields.size(); i++) {
+                        attributes.put(fields.get(i), LectureFields.value(tuple.get(i)));
+                    }
+                    return attributes;
+                })
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(new LectureSearchCondition(), cb));
+    }
+
+    private long count(LectureSearchCondition condition, CriteriaBuilder cb) {
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Lecture> lecture = countQuery.from(Lecture.class);
+        countQuery.select(cb.count(lecture));
+        countQuery.where(predicates(condition, cb, lecture));
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    private static Predicate[] predicates(LectureSearchCondition condition, CriteriaBuilder cb, Root<Lecture> lecture) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (condition.getLectureStatus() != null) {
+            predicates.add(cb.equal(lecture.get("lectureStatus"), condition.getLectureStatus()));
+        }
+        //수강신청 기간이 조회 기간과 겹치는 경우
+        if (condition.getEnrollmentTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(lecture.get("beginEnrollmentDateTime"), condition.getEnrollmentTo()));
+        }
+        if (condition.getEnrollmentFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(lecture.get("closeEnrollmentDateTime"), condition.getEnrollmentFrom()));
+        }
+        if (condition.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(lecture.get("basePrice"), condition.getMinPrice()));
+        }
+        if (condition.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(lecture.get("basePrice"), condition.getMaxPrice()));
+        }
+        if (condition.getFree() != null) {
+            predicates.add(cb.equal(lecture.get("free"), condition.getFree()));
+        }
+        if (condition.getOffline() != null) {
+            predicates.add(cb.equal(lecture.get("offline"), condition.getOffline()));
+        }
+        //앞부분 일치만 허용해서 index 를 사용
+        if (condition.getLocation() != null && !condition.getLocation().isBlank()) {
+            predicates.add(cb.like(lecture.get("location"), escapeLike(condition.getLocation()) + "%", '\\'));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    //like 패턴의 \, %, _ 를 '\' 로 escape (LectureExporter 도 사용)
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,270 @@
+package com.boot3.myrestapi.lectures;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    Lecture name, description 의 in-memory 역색인 (term => PostingList)
+    - 시작할 때(ApplicationReadyEvent) DB 에서 id 순서로 나누어 읽어 만들고, LectureChangedEvent 로 Lecture 단위 갱신
+    - 검색어의 모든 token 이 (앞부분 일치 포함) 있어야 결과에 포함되고, TF-IDF 점수 순으로 정렬
+    - name 에 있는 token 은 NAME_WEIGHT 배로 센다
+    - 검색은 read lock, 색인 갱신은 write lock
+    - build 중에 LectureChangedEvent 로 갱신/삭제된 Lecture 는 build 가 먼저 읽어둔 이전 내용으로 덮어쓰지 않는다
+ */
+@Slf4j
+@Component
+public class LectureSearchIndex {
+    //검색 결과 (점수 내림차순)
+    public record Hit(int id, double score) {
+    }
+
+    private static final int NAME_WEIGHT = 2;
+    //앞부분 일치로 찾은 term 의 점수 비율
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final Comparator<Hit> BY_SCORE = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingInt(Hit::id).reversed());
+
+    private final LectureRepository lectureRepository;
+    private final int buildChunkSize;
+    //검색어 token 하나가 앞부분 일치로 확장되는 최대 term 수
+    private final int maxPrefixExpansions;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, PostingList> terms = new TreeMap<>();
+    //Lecture id => 색인된 term 의 PostingList (수정/삭제 시 이전 term 제거용)
+    private final Map<Integer, PostingList[]> documents = new HashMap<>();
+    //build 중에 put/remove 된 Lecture id (build 중이 아니면 null)
+    private Set<Integer> changedDuringBuild;
+    private volatile long postingBytes;
+
+    public LectureSearchIndex(LectureRepository lectureRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${lectures.search.build-chunk-size:1000}") int buildChunkSize,
+                              @Value("${lectures.search.max-prefix-expansions:64}") int maxPrefixExpansions) {
+        this.lectureRepository = lectureRepository;
+        this.buildChunkSize = buildChunkSize;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+        Gauge.builder("lectures.search.documents", documents, Map::size).register(meterRegistry);
+        Gauge.builder("lectures.search.terms", terms, Map::size).register(meterRegistry);
+        Gauge.builder("lectures.search.postings.encoded", this, LectureSearchIndex::postingBytes)
+                .description("PostingList 에 varint 로 저장한 byte 수 (term 문자열, 배열 여유 용량, 객체 overhead 는 제외)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    //전체 Lecture 색인 (id 순서로 읽으므로 PostingList 는 끝에 추가만 한다)
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changedDuringBuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            int lastId = 0;
+            List<LectureText> chunk;
+            do {
+                //chunk 는 lock 밖에서 읽으므로 그 사이에 들어온 이벤트의 내용이 더 최신이다
+                chunk = lectureRepository.findTextAfterId(lastId, Limit.of(buildChunkSize));
+                lock.writeLock().lock();
+                try {
+                    for (LectureText text : chunk) {
+                        if (!changedDuringBuild.contains(text.id())) {
+                            putDocument(text);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!chunk.isEmpty()) {
+                    lastId = chunk.get(chunk.size() - 1).id();
+                }
+            } while (chunk.size() == buildChunkSize);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringBuild = null;
+                terms.values().forEach(PostingList::trim);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Lecture 검색 색인 documents={} terms={} encodedPostingBytes={} ({} ms)",
+                documentCount(), termCount(), postingBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    //transaction 이 없으면(fallbackExecution) 발행 즉시 실행
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectureChanged(LectureChangedEvent event) {
+        if (event.text() != null) {
+            put(event.text());
+            return;
+        }
+        lectureRepository.findTextById(event.id())
+                .ifPresentOrElse(this::put, () -> remove(event.id()));
+    }
+
+    public void put(LectureText text) {
+        lock.writeLock().lock();
+        try {
+            markChangedDuringBuild(text.id());
+            putDocument(text);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            markChangedDuringBuild(id);
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, int limit) {
+        LinkedHashSet<String> queryTokens = new LinkedHashSet<>(LectureTokenizer.tokenize(query));
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            for (String token : queryTokens) {
+                Map<Integer, Double> tokenScores = scoreToken(token, documentCount);
+                //모든 token 을 포함한 Lecture 만 남긴다
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        //점수가 높은 limit 개만 heap 으로 선택
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, BY_SCORE);
+        scores.forEach((id, score) -> {
+            top.add(new Hit(id, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(BY_SCORE.reversed());
+        return hits;
+    }
+
+    public int documentCount() {
+        return documents.size();
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    //PostingList 에 varint 로 저장된 byte 수 (색인의 실제 heap 사용량이 아니다)
+    public long postingBytes() {
+        return postingBytes;
+    }
+
+    //token 과 같거나 token 으로 시작하는 term 의 TF-IDF 합계 (Lecture id => 점수)
+    private Map<Integer, Double> scoreToken(String token, int documentCount) {
+        Map<Integer, Double> tokenScores = new HashMap<>();
+        int expansions = 0;
+        for (PostingList postingList : terms.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            if (expansions++ == maxPrefixExpansions) {
+                break;
+            }
+            double weight = postingList.term().equals(token) ? 1.0 : PREFIX_WEIGHT;
+            double idf = Math.log(1.0 + (double) documentCount / postingList.size());
+            postingList.forEach((id, frequency) ->
+                    tokenScores.merge(id, weight * (1.0 + Math.log(frequency)) * idf, Double::sum));
+        }
+        return tokenScores;
+    }
+
+    //write lock 안에서 호출
+    private void markChangedDuringBuild(Integer id) {
+        if (changedDuringBuild != null) {
+            changedDuringBuild.add(id);
+        }
+    }
+
+    //write lock 안에서 호출
+    private void putDocument(LectureText text) {
+        removeDocument(text.id());
+
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        LectureTokenizer.tokenize(text.name())
+                .forEach(token -> frequencies.merge(token, NAME_WEIGHT, Integer::sum));
+        LectureTokenizer.tokenize(text.description())
+                .forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        if (frequencies.isEmpty()) {
+            return;
+        }
+
+        PostingList[] postingLists = new PostingList[frequencies.size()];
+        int i = 0;
+        long bytes = postingBytes;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            PostingList postingList = terms.computeIfAbsent(entry.getKey(), PostingList::new);
+            bytes -= postingList.byteSize();
+            postingList.put(text.id(), entry.getValue());
+            bytes += postingList.byteSize();
+            postingLists[i++] = postingList;
+        }
+        postingBytes = bytes;
+        documents.put(text.id(), postingLists);
+    }
+
+    //write lock 안에서 호출
+    private void removeDocument(Integer id) {
+        PostingList[] postingLists = documents.remove(id);
+        if (postingLists == null) {
+            return;
+        }
+        long bytes = postingBytes;
+        for (PostingList postingList : postingLists) {
+            bytes -= postingList.byteSize();
+            postingList.remove(id);
+            bytes += postingList.byteSize();
+            if (postingList.size() == 0) {
+                terms.remove(postingList.term());
+            }
+        }
+        postingBytes = bytes;
+    }
+}
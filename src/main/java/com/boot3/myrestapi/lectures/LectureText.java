@@ -0,0 +1,5 @@
+package com.boot3.myrestapi.lectures;
+
+//LectureSearchIndex 에 색인하는 Lecture 의 id, name, description
+public record LectureText(Integer id, String name, String description) {
+}
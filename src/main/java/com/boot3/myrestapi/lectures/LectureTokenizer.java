@@ -0,0 +1,64 @@
+package com.boot3.myrestapi.lectures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+    LectureSearchIndex 용 tokenizer
+    - 영문/숫자: 연속된 글자/숫자를 소문자 단어 하나로
+    - 한글: 띄어쓰기 단위에 조사가 붙으므로 2글자씩 겹치게 자른 bigram (한 글자 단어는 그대로)
+      "강의장에서" => 강의, 의장, 장에, 에서
+    - 그 외 문자(공백, 기호 등)는 구분자
+ */
+final class LectureTokenizer {
+    private LectureTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (!Character.isLetterOrDigit(codePoint)) {
+                i += Character.charCount(codePoint);
+                continue;
+            }
+            boolean hangul = isHangul(codePoint);
+            int start = i;
+            while (i < length) {
+                codePoint = text.codePointAt(i);
+                if (!Character.isLetterOrDigit(codePoint) || isHangul(codePoint) != hangul) {
+                    break;
+                }
+                i += Character.charCount(codePoint);
+            }
+            String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+            if (hangul) {
+                addBigrams(word, tokens);
+            } else {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addBigrams(String word, List<String> tokens) {
+        int[] codePoints = word.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(word);
+            return;
+        }
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+    }
+
+    private static boolean isHangul(int codePoint) {
+        return Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HANGUL;
+    }
+}
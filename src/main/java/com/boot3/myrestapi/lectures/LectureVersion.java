@@ -0,0 +1,5 @@
+package com.boot3.myrestapi.lectures;
+
+//Lecture 의 version 과 등록자 id (ETag 비교용)
+public record LectureVersion(Integer version, Integer ownerId) {
+}
@@ -0,0 +1,132 @@
+package com.boot3.myrestapi.lectures;
+
+import java.util.Arrays;
+
+/*
+    LectureSearchIndex 의 term 하나에 대한 (Lecture id, 출현 횟수) 목록
+    - id 오름차순으로 [id 차이, 출현 횟수] 를 varint 로 byte[] 에 저장 (Integer/객체 없이 항목당 보통 2~3 byte)
+    - 마지막 id 보다 큰 id 는 끝에 바로 추가하고, 그 외의 추가/삭제는 배열을 다시 쓴다
+    - thread-safe 하지 않음 (LectureSearchIndex 의 lock 안에서만 사용)
+ */
+final class PostingList {
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(int id, int frequency);
+    }
+
+    private final String term;
+    private byte[] data = new byte[8];
+    private int length;
+    private int size;
+    private int lastId;
+
+    PostingList(String term) {
+        this.term = term;
+    }
+
+    String term() {
+        return term;
+    }
+
+    //id 의 출현 횟수를 설정 (이미 있으면 교체)
+    void put(int id, int frequency) {
+        if (size == 0 || id > lastId) {
+            append(id, frequency);
+            return;
+        }
+        rewrite(id, frequency);
+    }
+
+    void remove(int id) {
+        if (size > 0 && id <= lastId) {
+            rewrite(id, 0);
+        }
+    }
+
+    //id 를 포함한 Lecture 수 (document frequency)
+    int size() {
+        return size;
+    }
+
+    //저장에 사용하는 byte 수
+    int byteSize() {
+        return length;
+    }
+
+    //일괄 생성 후 남는 용량 제거
+    void trim() {
+        if (data.length > length) {
+            data = Arrays.copyOf(data, Math.max(length, 1));
+        }
+    }
+
+    void forEach(PostingConsumer consumer) {
+        int position = 0;
+        int id = 0;
+        for (int i = 0; i < size; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int frequency = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                frequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            id += delta;
+            consumer.accept(id, frequency);
+        }
+    }
+
+    private void append(int id, int frequency) {
+        ensureCapacity(length + 10);
+        length = writeVarint(data, length, id - lastId);
+        length = writeVarint(data, length, frequency);
+        lastId = id;
+        size++;
+    }
+
+    //id 를 frequency 로 교체해서 전체를 다시 쓴다 (frequency 가 0 이면 삭제)
+    private void rewrite(int id, int frequency) {
+        PostingList rewritten = new PostingList(term);
+        rewritten.data = new byte[length + 10];
+        boolean[] written = {frequency == 0};
+        forEach((currentId, currentFrequency) -> {
+            if (!written[0] && id < currentId) {
+                rewritten.append(id, frequency);
+                written[0] = true;
+            }
+            if (currentId != id) {
+                rewritten.append(currentId, currentFrequency);
+            }
+        });
+        if (!written[0]) {
+            rewritten.append(id, frequency);
+        }
+        this.data = rewritten.data;
+        this.length = rewritten.length;
+        this.size = rewritten.size;
+        this.lastId = rewritten.lastId;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (data.length < capacity) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+    }
+
+    private static int writeVarint(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+}
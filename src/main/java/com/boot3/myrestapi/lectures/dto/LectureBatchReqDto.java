@@ -0,0 +1,20 @@
+package com.boot3.myrestapi.lectures.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/*
+    POST /api/lectures/batch 요청 배열을 감싸는 객체
+    검증 오류의 field 가 lectures[index].name 처럼 배열의 index 를 포함하도록 사용
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LectureBatchReqDto {
+    private List<@NotNull @Valid LectureReqDto> lectures;
+}
@@ -1,29 +1,36 @@
 package com.boot3.myrestapi.lectures.dto;
 
+import com.boot3.myrestapi.lectures.LectureStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class LectureResDto {
+    //응답의 LocalDateTime 형식 (LectureResDtoSerializer, LectureExporter, LectureFields 도 같은 formatter 사용)
+    public static final String DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm";
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_PATTERN);
+
     private Integer id;
     private String name;
     private String description;
 
-    @JsonFormat(pattern="yyyy-MM-dd HH:mm")
+    @JsonFormat(pattern = DATE_TIME_PATTERN)
     private LocalDateTime beginEnrollmentDateTime;
-    @JsonFormat(pattern="yyyy-MM-dd HH:mm")
+    @JsonFormat(pattern = DATE_TIME_PATTERN)
     private LocalDateTime closeEnrollmentDateTime;
-    @JsonFormat(pattern="yyyy-MM-dd HH:mm")
+    @JsonFormat(pattern = DATE_TIME_PATTERN)
     private LocalDateTime beginLectureDateTime;
-    @JsonFormat(pattern="yyyy-MM-dd HH:mm")
+    @JsonFormat(pattern = DATE_TIME_PATTERN)
     private LocalDateTime endLectureDateTime;
 
     private String location;
@@ -33,4 +40,13 @@ public class LectureResDto {
     private boolean offline;
     private boolean free;
     private String email;
+    private LectureStatus lectureStatus;
+
+    //등록한 UserInfo 의 id (update 링크 권한 확인용, 응답에는 포함하지 않음)
+    @JsonIgnore
+    private Integer ownerId;
+
+    //ETag 생성용 (응답에는 포함하지 않음)
+    @JsonIgnore
+    private Integer version;
 }
\ No newline at end of file
@@ -1,22 +1,27 @@
 package com.boot3.myrestapi.lectures.dto;
 
-import com.boot3.myrestapi.lectures.LectureController;
+import com.boot3.myrestapi.lectures.LectureLinks;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import lombok.Getter;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.RepresentationModel;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
 @Getter
 public class LectureResource extends RepresentationModel<LectureResource> {
     @JsonUnwrapped
     private final LectureResDto lectureResDto;
     
     public LectureResource(LectureResDto resDto) {
+        this(resDto, LectureLinks.baseHref());
+    }
+
+    //목록 응답은 요청마다 한번 만든 baseHref(LectureLinks.baseHref())를 모든 row 에 사용
+    public LectureResource(LectureResDto resDto, String baseHref) {
         this.lectureResDto = resDto;
         //self link 추가
-        add(linkTo(LectureController.class).slash(resDto.getId()).withSelfRel());
+        add(Link.of(LectureLinks.lectureHref(baseHref, resDto.getId()), IanaLinkRelations.SELF));
     }
     
 
-}
\ No newline at end of file
+}
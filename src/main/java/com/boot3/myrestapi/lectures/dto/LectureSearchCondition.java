@@ -0,0 +1,37 @@
+package com.boot3.myrestapi.lectures.dto;
+
+import com.boot3.myrestapi.lectures.LectureStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/*
+    GET /api/lectures/search 조건 (값이 없는 조건은 무시)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LectureSearchCondition {
+    private LectureStatus lectureStatus;
+
+    //수강신청 기간이 [enrollmentFrom, enrollmentTo] 와 겹치는 Lecture
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime enrollmentFrom;
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime enrollmentTo;
+
+    //basePrice 범위
+    private Integer minPrice;
+    private Integer maxPrice;
+
+    private Boolean free;
+    private Boolean offline;
+
+    //location 앞부분 일치
+    private String location;
+}
@@ -0,0 +1,80 @@
+package com.boot3.myrestapi.lectures.dto;
+
+import com.boot3.myrestapi.lectures.LectureFields;
+import com.boot3.myrestapi.lectures.LectureLinks;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import lombok.Getter;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.io.IOException;
+import java.util.Map;
+
+/*
+    fields 파라미터로 요청한 필드만 가진 LectureResource
+    - LectureResource 와 같이 필드 다음에 _links 가 오도록 Attributes 를 @JsonUnwrapped 로 펼친다
+      (@JsonAnyGetter 는 항상 마지막에 쓰이고, Map 타입 속성은 @JsonUnwrapped 를 지원하지 않음)
+    - 목록의 _embedded 이름은 LectureResource 와 같은 lectureResourceList
+ */
+@Getter
+@Relation(collectionRelation = "lectureResourceList")
+public class SparseLectureResource extends RepresentationModel<SparseLectureResource> {
+    @JsonUnwrapped
+    private final Attributes attributes;
+
+    public SparseLectureResource(Map<String, Object> attributes, String baseHref) {
+        this.attributes = new Attributes(attributes);
+        //self link 추가
+        add(Link.of(LectureLinks.lectureHref(baseHref, attributes.get(LectureFields.ID)), IanaLinkRelations.SELF));
+    }
+
+    //필드 이름 => 응답 값 (LectureFields 순서)
+    @JsonSerialize(using = AttributesSerializer.class)
+    public record Attributes(Map<String, Object> values) {
+    }
+
+    //Map 의 entry 를 감싸는 객체 없이 필드로 쓰는 serializer
+    static class AttributesSerializer extends JsonSerializer<Attributes> {
+        private final NameTransformer nameTransformer;
+
+        AttributesSerializer() {
+            this(null);
+        }
+
+        private AttributesSerializer(NameTransformer nameTransformer) {
+            this.nameTransformer = nameTransformer;
+        }
+
+        @Override
+        public void serialize(Attributes attributes, JsonGenerator gen,
+                              SerializerProvider serializers) throws IOException {
+            if (nameTransformer == null) {
+                gen.writeStartObject(attributes);
+            }
+            for (Map.Entry<String, Object> entry : attributes.values().entrySet()) {
+                String name = nameTransformer == null ? entry.getKey() : nameTransformer.transform(entry.getKey());
+                serializers.defaultSerializeField(name, entry.getValue(), gen);
+            }
+            if (nameTransformer == null) {
+                gen.writeEndObject();
+            }
+        }
+
+        @Override
+        public boolean isUnwrappingSerializer() {
+            return nameTransformer != null;
+        }
+
+        @Override
+        public JsonSerializer<Attributes> unwrappingSerializer(NameTransformer nameTransformer) {
+            return new AttributesSerializer(nameTransformer);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.boot3.myrestapi.lectures.validator;
 
+import com.boot3.myrestapi.common.monitor.RequestPhase;
+import com.boot3.myrestapi.common.monitor.RequestPhases;
 import com.boot3.myrestapi.lectures.dto.LectureReqDto;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.Errors;
@@ -9,6 +11,15 @@ import java.time.LocalDateTime;
 @Component
 public class LectureValidator {
 	public void validate(LectureReqDto lectureReqDto, Errors errors) {
+		long start = RequestPhases.start();
+		try {
+			validatePricesAndDates(lectureReqDto, errors);
+		} finally {
+			RequestPhases.stop(RequestPhase.VALIDATION, start);
+		}
+	}
+
+	private void validatePricesAndDates(LectureReqDto lectureReqDto, Errors errors) {
 		//maxPrice 0 보다 크면 basePrice > maxPrice 크면 오류 발생
 		if(lectureReqDto.getBasePrice() > lectureReqDto.getMaxPrice() &&
 				lectureReqDto.getMaxPrice() != 0) {
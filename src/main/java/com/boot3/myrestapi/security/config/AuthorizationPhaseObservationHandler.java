@@ -0,0 +1,38 @@
+package com.boot3.myrestapi.security.config;
+
+import com.boot3.myrestapi.common.monitor.RequestPhase;
+import com.boot3.myrestapi.common.monitor.RequestPhases;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.security.authorization.AuthorizationObservationContext;
+import org.springframework.security.authorization.method.MethodInvocationResult;
+
+/*
+    method security(@PreAuthorize 등)의 권한 평가 시간을 RequestPhase.AUTHORIZATION 으로 기록
+    - @EnableMethodSecurity 의 AuthorizationManager 는 ObservationRegistry 가 있으면 평가마다 authorization observation 을 만든다
+    - URL 권한(authorizeHttpRequests) 평가는 제외
+ */
+public class AuthorizationPhaseObservationHandler implements ObservationHandler<AuthorizationObservationContext<?>> {
+    private static final String START = AuthorizationPhaseObservationHandler.class.getName() + ".start";
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof AuthorizationObservationContext<?> authorization
+                && (authorization.getObject() instanceof MethodInvocation
+                    || authorization.getObject() instanceof MethodInvocationResult);
+    }
+
+    @Override
+    public void onStart(AuthorizationObservationContext<?> context) {
+        context.put(START, RequestPhases.start());
+    }
+
+    @Override
+    public void onStop(AuthorizationObservationContext<?> context) {
+        Long start = context.get(START);
+        if (start != null) {
+            RequestPhases.stop(RequestPhase.AUTHORIZATION, start);
+        }
+    }
+}
@@ -3,8 +3,13 @@ package com.boot3.myrestapi.security.config;
 import com.boot3.myrestapi.security.exception.CustomAccessDeniedHandler;
 import com.boot3.myrestapi.security.exception.CustomAuthenticationEntryPoint;
 import com.boot3.myrestapi.security.filter.JwtAuthenticationFilter;
+import com.boot3.myrestapi.security.password.BoundedPasswordEncoder;
+import com.boot3.myrestapi.security.ratelimit.AuthRateLimitFilter;
 import com.boot3.myrestapi.security.userinfos.UserInfoUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -35,29 +40,66 @@ import static org.springframework.security.config.Customizer.withDefaults;
 public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
+    @Autowired
+    private AuthRateLimitFilter authRateLimitFilter;
+    @Autowired
+    private UserInfoUserDetailsService userDetailsService;
 
+    //BCrypt hashing 은 크기가 제한된 전용 thread pool 에서 실행
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.pool-size:4}") int poolSize,
+                                           @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                                           @Value("${security.password.retry-after-seconds:1}") long retryAfterSeconds,
+                                           MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, retryAfterSeconds, meterRegistry);
+    }
+
+    //@PreAuthorize 평가 시간을 request.phase 에 기록 (Spring Security 의 authorization observation 사용)
+    @Bean
+    public AuthorizationPhaseObservationHandler authorizationPhaseObservationHandler() {
+        return new AuthorizationPhaseObservationHandler();
     }
 
     @Bean
     public WebSecurityCustomizer webSecurityCustomizer() {
         return (web) -> web.ignoring()
-                .requestMatchers("/v3/api-docs/**","/swagger-ui.html", "/swagger-ui/**");
+                .requestMatchers(SecurityPaths.IGNORED);
     }
 
+    //JwtAuthenticationFilter 는 Security Filter Chain 에서만 실행 (Servlet Filter 로 중복 등록하지 않음)
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public FilterRegistrationBean<AuthRateLimitFilter> authRateLimitFilterRegistration() {
+        FilterRegistrationBean<AuthRateLimitFilter> registration =
+                new FilterRegistrationBean<>(authRateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider) throws Exception {
         return http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> {
-                    auth.requestMatchers("/users/**").permitAll()
-                            .requestMatchers("/api/lectures/**").authenticated();
+                    auth.requestMatchers(SecurityPaths.PERMIT_ALL).permitAll()
+                            .requestMatchers("/api/lectures/**").authenticated()
+                            //health 외의 actuator endpoint (prometheus 포함) 는 ADMIN 만
+                            .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN");
                 })
                 //.formLogin(withDefaults())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
+                //인증 endpoint 요청 수 제한은 JWT 처리보다 먼저 실행
+                .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling(authManager -> authManager
                         .authenticationEntryPoint(authenticationEntryPoint())
@@ -80,15 +122,14 @@ public class SecurityConfig {
 //        return new InMemoryUserDetailsManager(admin, user);
 //    }
 
+    //UserDetailsService 는 principal 캐시를 가진 @Service 빈(UserInfoUserDetailsService) 하나만 사용
     @Bean
-    public UserDetailsService userDetailsService() {
-        return new UserInfoUserDetailsService();
-    }
-    @Bean
-    public AuthenticationProvider authenticationProvider(){
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder){
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
-        authenticationProvider.setUserDetailsService(userDetailsService());
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        //로그인 성공 시 저장된 hash 의 cost 가 설정과 다르면 다시 hashing 해서 저장
+        authenticationProvider.setUserDetailsPasswordService(userDetailsService);
         return authenticationProvider;
     }
 
@@ -0,0 +1,32 @@
+package com.boot3.myrestapi.security.config;
+
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+
+/*
+    SecurityConfig 와 JwtAuthenticationFilter 가 함께 사용하는 경로 matcher
+    한 곳에서 한번만 생성하므로 permitAll/ignoring 설정과 Filter 의 skip 경로가 항상 일치한다.
+ */
+public final class SecurityPaths {
+    //인증 없이 접근 가능한 경로 (permitAll), actuator 는 health 만
+    public static final RequestMatcher PERMIT_ALL = matchers("/", "/index.html", "/users/**",
+            "/actuator/health", "/actuator/health/**");
+
+    //Security Filter Chain 을 거치지 않는 경로 (web.ignoring)
+    public static final RequestMatcher IGNORED = matchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**");
+
+    //JwtAuthenticationFilter 가 token 을 확인할 필요가 없는 경로
+    public static final RequestMatcher PUBLIC = new OrRequestMatcher(PERMIT_ALL, IGNORED);
+
+    private SecurityPaths() {
+    }
+
+    private static RequestMatcher matchers(String... patterns) {
+        return new OrRequestMatcher(Arrays.stream(patterns)
+                .map(AntPathRequestMatcher::antMatcher)
+                .toArray(RequestMatcher[]::new));
+    }
+}
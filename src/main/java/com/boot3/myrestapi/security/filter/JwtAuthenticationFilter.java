@@ -1,11 +1,18 @@
 package com.boot3.myrestapi.security.filter;
 
+import com.boot3.myrestapi.common.monitor.RequestPhase;
+import com.boot3.myrestapi.common.monitor.RequestPhases;
+import com.boot3.myrestapi.security.config.SecurityPaths;
 import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.jwt.TokenDenylist;
+import com.boot3.myrestapi.security.jwt.VerifiedClaims;
+import com.boot3.myrestapi.security.userinfos.UserInfoUserDetails;
 import com.boot3.myrestapi.security.userinfos.UserInfoUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,31 +22,61 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    //검증 결과 로그는 최대 1초에 한번, 그 사이의 결과는 건수로 합산
+    private static final long LOG_INTERVAL_MILLIS = 1000;
+
     @Autowired
     private JwtService jwtService;
     @Autowired
     private UserInfoUserDetailsService userDetailsService;
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    private final AtomicLong lastLoggedAt = new AtomicLong();
+    private final LongAdder validCount = new LongAdder();
+    private final LongAdder invalidCount = new LongAdder();
+
+    //permitAll/ignoring 경로는 token 파싱, 사용자 조회를 하지 않음
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return SecurityPaths.PUBLIC.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
+        VerifiedClaims claims = null;
         String username = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            //email 주소
-            username = jwtService.extractUsername(token);
+            String token = authHeader.substring(7);
+            //토큰 파싱/서명검증은 한번만 수행
+            claims = jwtService.verify(token);
+            //폐기된 token 이면 인증하지 않음 (Bloom filter 확인 후 양성일 때만 정확한 조회)
+            long start = RequestPhases.start();
+            if (!tokenDenylist.isRevoked(claims.getId())) {
+                //email 주소
+                username = claims.getSubject();
+            }
+            RequestPhases.stop(RequestPhase.JWT, start);
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            boolean isTokenValid = jwtService.validateToken(token, userDetails);
-            System.out.println("Token Valid ?? = " + isTokenValid);
+            UserDetails userDetails = (jwtService.isStateless() && claims.hasPrincipal())
+                    //stateless 모드: claim 으로 principal 생성, Repository 호출 없음
+                    ? UserInfoUserDetails.fromClaims(claims)
+                    : userDetailsService.loadUserByUsername(username);
+            long start = RequestPhases.start();
+            boolean isTokenValid = jwtService.validateToken(claims, userDetails);
+            RequestPhases.stop(RequestPhase.JWT, start);
+            logValidation(isTokenValid);
             if (isTokenValid) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails,
@@ -50,4 +87,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void logValidation(boolean isTokenValid) {
+        (isTokenValid ? validCount : invalidCount).increment();
+        long now = System.currentTimeMillis();
+        long last = lastLoggedAt.get();
+        if (now - last < LOG_INTERVAL_MILLIS || !lastLoggedAt.compareAndSet(last, now)) {
+            return;
+        }
+        long valid = validCount.sumThenReset();
+        long invalid = invalidCount.sumThenReset();
+        log.atInfo()
+                .setMessage("JWT 검증 valid={} invalid={}")
+                .addArgument(valid)
+                .addArgument(invalid)
+                .addKeyValue("event", "jwt.validation")
+                .addKeyValue("valid", valid)
+                .addKeyValue("invalid", invalid)
+                .log();
+    }
+}
@@ -0,0 +1,123 @@
+package com.boot3.myrestapi.security.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/*
+    고정된 header({"alg":"HS256"})와 claim 구성(sub, iat, exp, jti, uid, name, roles)에 특화된 HS256 토큰 발급기
+    Jwts.builder() 와 같은 JSON 을 만들며 jjwt parser 로 그대로 검증된다.
+    - header 의 Base64URL 문자열은 미리 계산
+    - claim JSON 은 StringBuilder 로 직접 작성 (Jackson 직렬화 없음)
+    - HmacSHA256 Mac 은 생성/초기화 비용이 크므로 pool 에서 재사용
+ */
+public class CompactJwtIssuer {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final byte[] HEADER = ENCODER.encode("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+    //HS256 서명 32 byte 의 Base64URL 길이
+    private static final int SIGNATURE_LENGTH = 43;
+
+    private final SecretKey key;
+    //요청 thread 가 platform/virtual 어느 쪽이든 재사용되도록 ThreadLocal 대신 pool 사용
+    private final Queue<Mac> macPool = new ConcurrentLinkedQueue<>();
+
+    public CompactJwtIssuer(SecretKey key) {
+        this.key = key;
+    }
+
+    public String issue(String subject, long issuedAtSeconds, long expirationSeconds, String jti) {
+        return issue(subject, issuedAtSeconds, expirationSeconds, jti, null, null, null);
+    }
+
+    public String issue(String subject, long issuedAtSeconds, long expirationSeconds, String jti,
+                        Integer userId, String name, String roles) {
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"sub\":");
+        appendString(json, subject);
+        json.append(",\"iat\":").append(issuedAtSeconds);
+        json.append(",\"exp\":").append(expirationSeconds);
+        if (jti != null) {
+            json.append(",\"jti\":");
+            appendString(json, jti);
+        }
+        if (userId != null) {
+            json.append(",\"" + JwtService.USER_ID_CLAIM + "\":").append(userId.intValue());
+        }
+        if (name != null) {
+            json.append(",\"" + JwtService.NAME_CLAIM + "\":");
+            appendString(json, name);
+        }
+        if (roles != null) {
+            json.append(",\"" + JwtService.ROLES_CLAIM + "\":");
+            appendString(json, roles);
+        }
+        json.append('}');
+
+        byte[] payload = ENCODER.encode(json.toString().getBytes(StandardCharsets.UTF_8));
+        int signingLength = HEADER.length + 1 + payload.length;
+        //header.payload.signature 를 하나의 byte 배열에 작성
+        byte[] token = new byte[signingLength + 1 + SIGNATURE_LENGTH];
+        System.arraycopy(HEADER, 0, token, 0, HEADER.length);
+        token[HEADER.length] = '.';
+        System.arraycopy(payload, 0, token, HEADER.length + 1, payload.length);
+        token[signingLength] = '.';
+
+        byte[] signature = sign(token, signingLength);
+        System.arraycopy(ENCODER.encode(signature), 0, token, signingLength + 1, SIGNATURE_LENGTH);
+        return new String(token, StandardCharsets.ISO_8859_1);
+    }
+
+    private byte[] sign(byte[] input, int length) {
+        Mac mac = macPool.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            mac.update(input, 0, length);
+            //doFinal() 은 Mac 을 초기 상태로 reset 하므로 바로 재사용 가능
+            return mac.doFinal();
+        } finally {
+            macPool.offer(mac);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 Mac 생성 실패", e);
+        }
+    }
+
+    //JSON 문자열 escape (Jackson 과 동일하게 non-ASCII 는 그대로 UTF-8 로 작성)
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                case '\b' -> json.append("\\b");
+                case '\f' -> json.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
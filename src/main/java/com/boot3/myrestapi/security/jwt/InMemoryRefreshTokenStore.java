@@ -0,0 +1,97 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.security.userinfos.RefreshToken;
+import com.boot3.myrestapi.security.userinfos.UserInfo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    단일 노드 배포와 테스트를 위한 in-memory RefreshTokenStore
+    tokenHash => RefreshToken, userId => tokenHash 두개의 ConcurrentHashMap 으로 관리하며
+    만료된 token 은 save 시점에 주기적으로(SWEEP_INTERVAL) 정리한다.
+    save 는 token 원문을 뺀 복사본을 저장하므로 호출한 쪽이 넘긴 객체를 수정해도 저장된 값은 바뀌지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "security.refresh-token.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+    private static final long SWEEP_INTERVAL_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final Map<String, RefreshToken> tokensByHash = new ConcurrentHashMap<>();
+    private final Map<Integer, String> hashesByUserId = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    @Override
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        return Optional.ofNullable(tokensByHash.get(tokenHash));
+    }
+
+    @Override
+    public Optional<RefreshToken> findByUserInfo(UserInfo userInfo) {
+        return Optional.ofNullable(hashesByUserId.get(userInfo.getId()))
+                .map(tokensByHash::get);
+    }
+
+    @Override
+    public RefreshToken save(RefreshToken refreshToken) {
+        if (refreshToken.getId() == 0) {
+            refreshToken.setId(sequence.incrementAndGet());
+        }
+        RefreshToken stored = RefreshToken.builder()
+                .id(refreshToken.getId())
+                .tokenHash(refreshToken.getTokenHash())
+                .expiryDate(refreshToken.getExpiryDate())
+                .userInfo(refreshToken.getUserInfo())
+                .build();
+        //사용자당 하나의 refresh token 만 유지 (JPA 의 @OneToOne 과 동일)
+        //같은 사용자의 save 가 동시에 실행되어도 이전 hash 제거와 새 hash 등록이 섞이지 않도록 compute 안에서 처리
+        hashesByUserId.compute(stored.getUserInfo().getId(), (userId, previousHash) -> {
+            if (previousHash != null && !previousHash.equals(stored.getTokenHash())) {
+                tokensByHash.remove(previousHash);
+            }
+            tokensByHash.put(stored.getTokenHash(), stored);
+            return stored.getTokenHash();
+        });
+        sweepIfDue();
+        return refreshToken;
+    }
+
+    @Override
+    public void delete(RefreshToken refreshToken) {
+        tokensByHash.remove(refreshToken.getTokenHash());
+        hashesByUserId.remove(refreshToken.getUserInfo().getId(), refreshToken.getTokenHash());
+    }
+
+    @Override
+    public int deleteExpired(Instant now, int limit) {
+        int deleted = 0;
+        Iterator<RefreshToken> iterator = tokensByHash.values().iterator();
+        while (iterator.hasNext() && deleted < limit) {
+            RefreshToken token = iterator.next();
+            if (token.getExpiryDate().isBefore(now)) {
+                iterator.remove();
+                hashesByUserId.remove(token.getUserInfo().getId(), token.getTokenHash());
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private void sweepIfDue() {
+        long now = System.nanoTime();
+        long last = lastSweepNanos.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+        deleteExpired(Instant.now(), Integer.MAX_VALUE);
+    }
+}
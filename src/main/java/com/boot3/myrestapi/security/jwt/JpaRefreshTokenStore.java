@@ -0,0 +1,50 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.security.userinfos.RefreshToken;
+import com.boot3.myrestapi.security.userinfos.UserInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "security.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        //token_hash 컬럼의 unique index 로 조회
+        return refreshTokenRepository.findByTokenHash(tokenHash);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByUserInfo(UserInfo userInfo) {
+        return refreshTokenRepository.findByUserInfo(userInfo);
+    }
+
+    @Override
+    public RefreshToken save(RefreshToken refreshToken) {
+        return refreshTokenRepository.save(refreshToken);
+    }
+
+    @Override
+    public void delete(RefreshToken refreshToken) {
+        refreshTokenRepository.delete(refreshToken);
+    }
+
+    @Override
+    public int deleteExpired(Instant now, int limit) {
+        //expiry_date index 로 만료된 id 를 limit 개만 조회한 뒤 한번의 DELETE 로 삭제
+        List<Integer> ids = refreshTokenRepository.findExpiredIds(now, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return refreshTokenRepository.deleteExpiredByIds(ids, now);
+    }
+}
@@ -1,22 +1,32 @@
 package com.boot3.myrestapi.security.jwt;
 
+import com.boot3.myrestapi.common.monitor.RequestPhase;
+import com.boot3.myrestapi.common.monitor.RequestPhases;
+import com.boot3.myrestapi.security.userinfos.UserInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -26,44 +36,79 @@ public class JwtService {
     private final static SecureDigestAlgorithm<SecretKey, SecretKey> ALGORITHM = Jwts.SIG.HS256;
     //초 단위
     public static final int ACCESS_EXPIRE = 3600;
+    //stateless 모드에서 access token 에 추가되는 claim 이름
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String NAME_CLAIM = "name";
+    public static final String ROLES_CLAIM = "roles";
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser() //ParseBuilder
-                .verifyWith(KEY)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    //true 이면 access token 에 uid, name, roles 를 담고 Filter 에서 DB 조회 없이 인증한다
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    //JwtParser 는 불변(thread-safe) 객체이므로 한번만 생성해서 재사용
+    private final JwtParser parser = Jwts
+            .parser() //ParseBuilder
+            .verifyWith(KEY)
+            .build();
+
+    //Jwts.builder() 대신 고정된 header/claim 구성에 특화된 발급기 사용
+    private final CompactJwtIssuer issuer = new CompactJwtIssuer(KEY);
+
+    //token digest => 검증된 Claims, 토큰의 exp 시각에 만료
+    private final Cache<ByteBuffer, VerifiedClaims> claimsCache;
+
+    public JwtService(@Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize) {
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .build();
+    }
+
+    /*
+        토큰을 한번만 파싱/서명검증 하고, 같은 토큰이 다시 들어오면 exp 전까지 캐시된 Claims 를 반환한다.
+        서명이 잘못되었거나 만료된 토큰은 JwtException 이 발생하며 캐시되지 않는다.
+     */
+    public VerifiedClaims verify(String token) {
+        long start = RequestPhases.start();
+        try {
+            ByteBuffer key = ByteBuffer.wrap(TokenDigests.sha256(token));
+            VerifiedClaims verifiedClaims = claimsCache.get(key,
+                    digest -> VerifiedClaims.of(parser.parseSignedClaims(token).getPayload()));
+            if (verifiedClaims.isExpired()) {
+                claimsCache.invalidate(key);
+                //만료 예외(ExpiredJwtException)를 parser 가 발생시키도록 다시 검증
+                return VerifiedClaims.of(parser.parseSignedClaims(token).getPayload());
+            }
+            return verifiedClaims;
+        } finally {
+            RequestPhases.stop(RequestPhase.JWT, start);
+        }
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token).getClaims();
         return claimsResolver.apply(claims);
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).getExpiration();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(verify(token), userDetails);
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public boolean validateToken(VerifiedClaims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.isExpired();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(KEY)
-                    .build()
-                    .parseSignedClaims(token);
+            verify(token);
             return true;
         } catch (Exception ex) {
             throw new AuthenticationCredentialsNotFoundException(
@@ -71,19 +116,51 @@ public class JwtService {
                     ex.fillInStackTrace());
         }
     }
-    //token 생성
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    //token 생성, 폐기(revoke)할 수 있도록 jti 를 항상 포함
     public String generateToken(String userName){
+        long issuedAt = Instant.now().getEpochSecond();
+        return issuer.issue(userName, issuedAt, expirationOf(issuedAt), UUID.randomUUID().toString());
+    }
+
+    //stateless 모드이면 UserInfo 의 id, name, roles 를 claim 으로 추가
+    public String generateToken(UserInfo userInfo) {
+        long issuedAt = Instant.now().getEpochSecond();
+        String jti = UUID.randomUUID().toString();
+        if (!stateless) {
+            return issuer.issue(userInfo.getEmail(), issuedAt, expirationOf(issuedAt), jti);
+        }
+        return issuer.issue(userInfo.getEmail(), issuedAt, expirationOf(issuedAt), jti,
+                userInfo.getId(), userInfo.getName(), userInfo.getRoles());
+    }
+
+    private static long expirationOf(long issuedAt) {
         // ACCESS_EXPIRE 3600초 => 60분
-        Date exprireDate = Date.from(Instant.now()
-                .plusSeconds(30));
-                //.plusSeconds(ACCESS_EXPIRE));
-
-        return Jwts.builder() //JwtBuilder
-                .signWith(KEY, ALGORITHM)
-                .subject(userName)
-                .issuedAt(new Date())
-                .expiration(exprireDate)
-                .compact();
+        return issuedAt + 30;
+                //+ ACCESS_EXPIRE;
     }
 
+    private static class ExpireAtTokenExpiration implements Expiry<ByteBuffer, VerifiedClaims> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedClaims value, long currentTime) {
+            if (value.getExpiration() == null) {
+                return Long.MAX_VALUE;
+            }
+            long millis = value.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.boot3.myrestapi.security.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/*
+    만료된 RefreshToken 을 주기적으로 삭제하는 background 작업
+    chunk-size 개씩 독립된 짧은 transaction 으로 삭제하므로 로그인 요청을 오래 막지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "security.refresh-token.reaper.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RefreshTokenReaper {
+    private final RefreshTokenStore refreshTokenStore;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    private final Counter deletedCounter;
+    private final Timer runTimer;
+
+    public RefreshTokenReaper(RefreshTokenStore refreshTokenStore,
+                              @Value("${security.refresh-token.reaper.chunk-size:500}") int chunkSize,
+                              @Value("${security.refresh-token.reaper.max-chunks-per-run:100}") int maxChunksPerRun,
+                              MeterRegistry meterRegistry) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.deletedCounter = Counter.builder("refresh_token.reaper.deleted")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("refresh_token.reaper.run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${security.refresh-token.reaper.interval:PT10M}",
+            fixedDelayString = "${security.refresh-token.reaper.interval:PT10M}")
+    public void reap() {
+        runTimer.record(() -> {
+            //실행 시작 시각 기준으로 만료된 token 만 삭제
+            Instant now = Instant.now();
+            int total = 0;
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                int deleted = refreshTokenStore.deleteExpired(now, chunkSize);
+                total += deleted;
+                deletedCounter.increment(deleted);
+                if (deleted < chunkSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("만료된 Refresh token {} 개 삭제", total);
+            }
+        });
+    }
+}
@@ -2,11 +2,27 @@ package com.boot3.myrestapi.security.jwt;
 
 import com.boot3.myrestapi.security.userinfos.RefreshToken;
 import com.boot3.myrestapi.security.userinfos.UserInfo;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken,Integer> {
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
     Optional<RefreshToken> findByUserInfo(UserInfo userInfo);
-}
\ No newline at end of file
+
+    @Query("select r.id from RefreshToken r where r.expiryDate < :now")
+    List<Integer> findExpiredIds(@Param("now") Instant now, Limit limit);
+
+    //chunk 단위 bulk delete, 짧은 transaction 으로 실행
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.id in :ids and r.expiryDate < :now")
+    int deleteExpiredByIds(@Param("ids") List<Integer> ids, @Param("now") Instant now);
+}
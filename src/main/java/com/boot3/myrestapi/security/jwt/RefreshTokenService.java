@@ -15,7 +15,7 @@ import java.util.UUID;
 public class RefreshTokenService {
 
     @Autowired
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenStore refreshTokenStore;
     @Autowired
     private UserInfoRepository userInfoRepository;
 
@@ -23,31 +23,37 @@ public class RefreshTokenService {
         UserInfo userInfo = userInfoRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("user not found " + username));
 
-        //Refresh_token 이 있으면
-        return refreshTokenRepository.findByUserInfo(userInfo)
-                //Refresh_token 이 없으면
-                .orElseGet(() -> {
-                    RefreshToken refreshToken = RefreshToken.builder()
-                            .userInfo(userInfo)
-                            .token(UUID.randomUUID().toString())
-                            .expiryDate(Instant.now().plusMillis(600000))//10분 - 600000, 1분 - 60000
-                            .build();
-                    return refreshTokenRepository.save(refreshToken);
-                });
+        //DB 에는 hash 만 저장되므로 로그인할 때마다 새 token 원문을 발급한다
+        String token = UUID.randomUUID().toString();
+        //Refresh_token 이 있으면 같은 id 로 token 교체, 없으면 새로 저장
+        //(저장소가 가진 객체는 다른 요청과 공유될 수 있으므로 수정하지 않고 새 객체를 만든다)
+        int id = refreshTokenStore.findByUserInfo(userInfo)
+                .map(RefreshToken::getId)
+                .orElse(0);
+        RefreshToken refreshToken = RefreshToken.builder()
+                .id(id)
+                .userInfo(userInfo)
+                .tokenHash(TokenDigests.sha256Hex(token))
+                .expiryDate(Instant.now().plusMillis(600000))//10분 - 600000, 1분 - 60000
+                .build();
+
+        RefreshToken savedRefreshToken = refreshTokenStore.save(refreshToken);
+        savedRefreshToken.setToken(token);
+        return savedRefreshToken;
     }
 
 
     public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        return refreshTokenStore.findByTokenHash(TokenDigests.sha256Hex(token));
     }
 
 
     public RefreshToken verifyExpiration(RefreshToken token) {
         if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
-            throw new RuntimeException(token.getToken() + " Refresh token was expired. Please make a new signin request");
+            refreshTokenStore.delete(token);
+            throw new RuntimeException("Refresh token was expired. Please make a new signin request");
         }
         return token;
     }
 
-}
\ No newline at end of file
+}
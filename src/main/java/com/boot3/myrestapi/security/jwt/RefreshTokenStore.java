@@ -0,0 +1,25 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.security.userinfos.RefreshToken;
+import com.boot3.myrestapi.security.userinfos.UserInfo;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/*
+    RefreshToken 저장소 추상화
+    security.refresh-token.store=jpa(기본값) 이면 RefreshTokenRepository(DB),
+    memory 이면 단일 노드/테스트용 in-memory map 을 사용한다.
+ */
+public interface RefreshTokenStore {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    Optional<RefreshToken> findByUserInfo(UserInfo userInfo);
+
+    RefreshToken save(RefreshToken refreshToken);
+
+    void delete(RefreshToken refreshToken);
+
+    //만료된 token 을 최대 limit 개 삭제하고 삭제된 개수를 반환
+    int deleteExpired(Instant now, int limit);
+}
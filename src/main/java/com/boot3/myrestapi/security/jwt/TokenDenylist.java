@@ -0,0 +1,128 @@
+package com.boot3.myrestapi.security.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+    폐기(revoke)된 access token 의 jti 목록
+    - 요청마다 먼저 in-memory Bloom filter 를 확인하고, 양성(positive)인 경우에만 정확한 Map 을 조회한다
+    - Bloom filter 는 삭제가 안되므로 current/previous 두 세대를 rotation 주기마다 교체한다
+      rotation 주기가 access token 의 최대 유효기간 이상이면 폐기된 jti 는 exp 까지 반드시 filter 에 남아있다
+    - 정확한 Map 의 항목은 token 의 exp 가 지나면 rotation 시점에 제거된다
+ */
+@Component
+public class TokenDenylist {
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    //jti => token 의 exp (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public TokenDenylist(@Value("${security.denylist.expected-insertions:100000}") int expectedInsertions,
+                         @Value("${security.denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.previous = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public void revoke(String jti, long expirationMillis) {
+        if (expirationMillis <= System.currentTimeMillis()) {
+            //이미 만료된 token 은 폐기할 필요 없음
+            return;
+        }
+        revoked.put(jti, expirationMillis);
+        current.put(jti);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (!current.mightContain(jti) && !previous.mightContain(jti)) {
+            return false;
+        }
+        Long expirationMillis = revoked.get(jti);
+        return expirationMillis != null && expirationMillis > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    //rotation 주기는 access token 의 최대 유효기간(JwtService.ACCESS_EXPIRE) 이상이어야 한다
+    @Scheduled(fixedRateString = "${security.denylist.rotation:PT1H}",
+            initialDelayString = "${security.denylist.rotation:PT1H}")
+    public void rotate() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expirationMillis -> expirationMillis <= now);
+        previous = current;
+        current = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /*
+        AtomicLongArray 기반의 lock-free Bloom filter (double hashing)
+     */
+    static class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitSize;
+        private final int hashFunctions;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long size = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, (size + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitSize = (long) words * 64;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash = hash64(value);
+            int hash1 = (int) hash;
+            int hash2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long index = indexOf(hash1 + i * hash2);
+                long mask = 1L << index;
+                int word = (int) (index >>> 6);
+                long old;
+                do {
+                    old = bits.get(word);
+                } while ((old & mask) == 0 && !bits.compareAndSet(word, old, old | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int hash1 = (int) hash;
+            int hash2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long index = indexOf(hash1 + i * hash2);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long indexOf(int combinedHash) {
+            return (combinedHash & Integer.MAX_VALUE) % bitSize;
+        }
+
+        //64bit FNV-1a
+        private static long hash64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.boot3.myrestapi.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/*
+    토큰 원문 대신 SHA-256 digest 를 키로 사용하기 위한 유틸리티
+ */
+public final class TokenDigests {
+
+    private TokenDigests() {
+    }
+
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            //SHA-256 은 모든 JVM 에서 필수 지원 알고리즘
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //64자리 hex 문자열 (refresh token 저장용)
+    public static String sha256Hex(String token) {
+        return HexFormat.of().formatHex(sha256(token));
+    }
+}
@@ -0,0 +1,43 @@
+package com.boot3.myrestapi.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.util.Date;
+
+/*
+    서명 검증이 끝난 JWT 의 Claims 를 담는 불변 객체
+ */
+@Value
+public class VerifiedClaims {
+    String subject;
+    Date issuedAt;
+    Date expiration;
+    //jti, 토큰 폐기(TokenDenylist) 에 사용
+    String id;
+    //stateless 모드에서 발급된 토큰에만 존재 (그 외에는 null)
+    Integer userId;
+    String name;
+    String roles;
+    Claims claims;
+
+    public static VerifiedClaims of(Claims claims) {
+        return new VerifiedClaims(claims.getSubject(),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                claims.getId(),
+                claims.get(JwtService.USER_ID_CLAIM, Integer.class),
+                claims.get(JwtService.NAME_CLAIM, String.class),
+                claims.get(JwtService.ROLES_CLAIM, String.class),
+                claims);
+    }
+
+    //DB 조회 없이 principal 을 만들 수 있는 claim 이 모두 있는지 여부
+    public boolean hasPrincipal() {
+        return userId != null && roles != null;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,17 @@
+package com.boot3.myrestapi.security.password;
+
+import lombok.Getter;
+
+/*
+    password hashing 작업 큐가 가득 차서 요청을 거절할 때 발생 (503 Service Unavailable)
+ */
+@Getter
+public class PasswordHashingRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("요청이 많아 잠시 후 다시 시도해 주세요!!");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
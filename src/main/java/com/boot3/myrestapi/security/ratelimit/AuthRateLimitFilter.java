@@ -0,0 +1,152 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import com.boot3.myrestapi.common.exception.ErrorObject;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/*
+    인증 관련 endpoint(/users/login, /users/new, /users/refreshToken) 요청 수 제한
+    - client IP 별 bucket 과 요청 body 의 email 별 bucket 을 모두 통과해야 한다
+    - 제한을 넘으면 CustomAuthenticationEntryPoint 와 같은 JSON(ErrorObject) 으로 429 + Retry-After 응답
+    - Proxy 뒤에서 실행하는 경우 server.forward-headers-strategy 를 설정해야 실제 client IP 로 제한된다
+ */
+@Component
+@Slf4j
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    //email 을 찾기 위해 미리 읽는 요청 body 최대 크기
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    private static final RequestMatcher LIMITED_PATHS = new OrRequestMatcher(
+            antMatcher(HttpMethod.POST, "/users/login"),
+            antMatcher(HttpMethod.POST, "/users/new"),
+            antMatcher(HttpMethod.POST, "/users/refreshToken"));
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final boolean enabled;
+    private final StripedTokenBuckets ipBuckets;
+    private final StripedTokenBuckets emailBuckets;
+
+    private final Counter ipRejectedCounter;
+    private final Counter emailRejectedCounter;
+
+    public AuthRateLimitFilter(@Value("${security.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${security.rate-limit.ip.capacity:20}") int ipCapacity,
+                               @Value("${security.rate-limit.ip.refill-period:PT1M}") Duration ipRefillPeriod,
+                               @Value("${security.rate-limit.email.capacity:5}") int emailCapacity,
+                               @Value("${security.rate-limit.email.refill-period:PT1M}") Duration emailRefillPeriod,
+                               @Value("${security.rate-limit.idle-timeout:PT10M}") Duration idleTimeout,
+                               @Value("${security.rate-limit.stripes:64}") int stripes,
+                               MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ipBuckets = new StripedTokenBuckets(ipCapacity, ipRefillPeriod, idleTimeout, stripes);
+        this.emailBuckets = new StripedTokenBuckets(emailCapacity, emailRefillPeriod, idleTimeout, stripes);
+
+        this.ipRejectedCounter = Counter.builder("auth.rate_limit.rejected")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.emailRejectedCounter = Counter.builder("auth.rate_limit.rejected")
+                .tag("key", "email")
+                .register(meterRegistry);
+        Gauge.builder("auth.rate_limit.buckets", ipBuckets, StripedTokenBuckets::size)
+                .tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.rate_limit.buckets", emailBuckets, StripedTokenBuckets::size)
+                .tag("key", "email")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !LIMITED_PATHS.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.nanoTime();
+
+        long waitNanos = ipBuckets.tryAcquire(request.getRemoteAddr(), now);
+        if (waitNanos > 0) {
+            ipRejectedCounter.increment();
+            reject(response, waitNanos);
+            return;
+        }
+
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, MAX_BODY_BYTES);
+        String email = extractEmail(cachedRequest.getCompleteBody());
+        if (email != null) {
+            waitNanos = emailBuckets.tryAcquire(email, now);
+            if (waitNanos > 0) {
+                emailRejectedCounter.increment();
+                reject(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    //사용되지 않는 bucket 정리
+    @Scheduled(fixedDelayString = "${security.rate-limit.eviction-interval:PT1M}",
+            initialDelayString = "${security.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int evicted = ipBuckets.evictIdle(now) + emailBuckets.evictIdle(now);
+        if (evicted > 0) {
+            log.debug("사용되지 않는 rate limit bucket {} 개 제거", evicted);
+        }
+    }
+
+    //JSON body 의 email 값 (소문자), 없거나 JSON 이 아니면 null
+    private String extractEmail(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = mapper.readTree(body).path("email");
+            return email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        response.setContentType("application/json;charset=UTF-8");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        ErrorObject errorObject = new ErrorObject();
+        errorObject.setStatusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+        errorObject.setMessage("요청이 너무 많습니다. " + retryAfterSeconds + "초 후에 다시 시도하세요!!");
+
+        String json = mapper.writerWithDefaultPrettyPrinter()
+                .writeValueAsString(errorObject);
+        response.getWriter().write(json);
+    }
+}
@@ -0,0 +1,102 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/*
+    요청 body 의 앞부분(최대 maxBytes)을 미리 읽어두고, Controller 에는 읽은 부분 + 나머지 stream 을 그대로 전달하는 wrapper
+ */
+class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+    private final boolean complete;
+    private ServletInputStream inputStream;
+
+    CachedBodyHttpServletRequest(HttpServletRequest request, int maxBytes) throws IOException {
+        super(request);
+        this.body = request.getInputStream().readNBytes(maxBytes);
+        this.complete = body.length < maxBytes;
+    }
+
+    //body 전체를 읽었으면 body, 아니면 null
+    byte[] getCompleteBody() {
+        return complete ? body : null;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            InputStream stream = complete
+                    ? new ByteArrayInputStream(body)
+                    : new SequenceInputStream(new ByteArrayInputStream(body), super.getInputStream());
+            inputStream = new DelegatingServletInputStream(stream, complete);
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    private static class DelegatingServletInputStream extends ServletInputStream {
+        private final InputStream delegate;
+        private final boolean cached;
+        private boolean finished;
+
+        private DelegatingServletInputStream(InputStream delegate, boolean cached) {
+            this.delegate = delegate;
+            this.cached = cached;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = delegate.read();
+            finished = read == -1;
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = delegate.read(b, off, len);
+            finished = read == -1;
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            //body 전체가 메모리에 있으면 바로 읽을 수 있으므로 즉시 통지
+            if (!cached) {
+                throw new IllegalStateException("body 일부만 읽어둔 요청은 비동기 읽기(ReadListener)를 지원하지 않습니다.");
+            }
+            try {
+                readListener.onDataAvailable();
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    key(IP, email) 별 token bucket
+    - key 의 hash 로 stripe 를 선택하고 stripe 마다 lock 과 HashMap 을 따로 가지므로 서로 다른 key 끼리는 거의 경합하지 않는다
+    - capacity 개의 token 이 refillPeriod 동안 균등하게 다시 채워진다
+    - idleTimeout 동안 사용되지 않은 bucket 은 evictIdle() 에서 제거된다 (그 사이 token 은 이미 가득 찬 상태)
+ */
+public class StripedTokenBuckets {
+    private final int capacity;
+    private final long nanosPerToken;
+    private final long idleTimeoutNanos;
+
+    private final ReentrantLock[] locks;
+    private final Map<String, Bucket>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public StripedTokenBuckets(int capacity, Duration refillPeriod, Duration idleTimeout, int stripeCount) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+
+        //stripe 개수는 2의 제곱수로 맞춘다
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.mask = size - 1;
+        this.locks = new ReentrantLock[size];
+        this.stripes = new Map[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+            stripes[i] = new HashMap<>();
+        }
+    }
+
+    //token 을 하나 사용할 수 있으면 0, 없으면 다음 token 이 채워질 때까지 남은 시간(nanos)
+    public long tryAcquire(String key, long nowNanos) {
+        int index = stripeOf(key);
+        ReentrantLock lock = locks[index];
+        lock.lock();
+        try {
+            Bucket bucket = stripes[index].computeIfAbsent(key, k -> new Bucket(capacity, nowNanos));
+            bucket.refill(nowNanos);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - bucket.tokens) * nanosPerToken));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //idleTimeout 이상 사용되지 않은 bucket 제거, 제거한 개수 리턴
+    public int evictIdle(long nowNanos) {
+        int evicted = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            locks[i].lock();
+            try {
+                Iterator<Bucket> iterator = stripes[i].values().iterator();
+                while (iterator.hasNext()) {
+                    if (nowNanos - iterator.next().lastRefillNanos >= idleTimeoutNanos) {
+                        iterator.remove();
+                        evicted++;
+                    }
+                }
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            locks[i].lock();
+            try {
+                size += stripes[i].size();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return size;
+    }
+
+    private int stripeOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long nowNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        private void refill(long nowNanos) {
+            long elapsed = nowNanos - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + (double) elapsed / nanosPerToken);
+                lastRefillNanos = nowNanos;
+            }
+        }
+    }
+}
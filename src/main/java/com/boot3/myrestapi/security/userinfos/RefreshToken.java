@@ -9,6 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "ux_refresh_token_hash", columnList = "token_hash", unique = true),
+        //만료 token 정리(RefreshTokenReaper) 용
+        @Index(name = "ix_refresh_token_expiry", columnList = "expiry_date")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -19,6 +24,12 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
 
+    //token 원문이 아닌 SHA-256 hex 값만 저장
+    @Column(name = "token_hash", length = 64, nullable = false)
+    private String tokenHash;
+
+    //발급 직후 클라이언트에게 전달할 token 원문 (DB 에 저장되지 않음)
+    @Transient
     private String token;
 
     private Instant expiryDate;
@@ -27,4 +38,4 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private UserInfo userInfo;
 
-}
\ No newline at end of file
+}
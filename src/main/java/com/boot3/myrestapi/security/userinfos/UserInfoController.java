@@ -1,11 +1,18 @@
 package com.boot3.myrestapi.security.userinfos;
 
+import com.boot3.myrestapi.common.exception.BusinessException;
 import com.boot3.myrestapi.security.jwt.JwtService;
 import com.boot3.myrestapi.security.jwt.RefreshTokenService;
+import com.boot3.myrestapi.security.jwt.TokenDenylist;
+import com.boot3.myrestapi.security.jwt.VerifiedClaims;
 import com.boot3.myrestapi.security.userinfos.dto.AuthRequest;
 import com.boot3.myrestapi.security.userinfos.dto.JwtResponse;
 import com.boot3.myrestapi.security.userinfos.dto.RefreshTokenRequest;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -28,6 +35,10 @@ public class UserInfoController {
 
     @Autowired
     private RefreshTokenService refreshTokenService;
+    @Autowired
+    private UserInfoUserDetailsService userDetailsService;
+    @Autowired
+    private TokenDenylist tokenDenylist;
 
     @GetMapping("/welcome")
     public String welcome() {
@@ -38,6 +49,8 @@ public class UserInfoController {
     public String addNewUser(@RequestBody UserInfo userInfo){
         userInfo.setPassword(passwordEncoder.encode(userInfo.getPassword()));
         UserInfo savedUserInfo = repository.save(userInfo);
+        //캐시된 principal 이 있다면 제거
+        userDetailsService.evict(savedUserInfo.getEmail());
         return savedUserInfo.getName() + " user added!!";
     }
 
@@ -50,8 +63,9 @@ public class UserInfoController {
                 ));
         if (authentication.isAuthenticated()) {
             RefreshToken refreshToken = refreshTokenService.createRefreshToken(authRequest.getEmail());
+            UserInfo userInfo = ((UserInfoUserDetails) authentication.getPrincipal()).getUserInfo();
             return JwtResponse.builder()
-                    .accessToken(jwtService.generateToken(authRequest.getEmail()))
+                    .accessToken(jwtService.generateToken(userInfo))
                     .token(refreshToken.getToken()).build();
 //            return jwtService.generateToken(authRequest.getEmail());
         } else {
@@ -65,7 +79,7 @@ public class UserInfoController {
                 .map(refreshTokenService::verifyExpiration)
                 .map(RefreshToken::getUserInfo)
                 .map(userInfo -> {
-                    String accessToken = jwtService.generateToken(userInfo.getEmail());
+                    String accessToken = jwtService.generateToken(userInfo);
                     return JwtResponse.builder()
                             .accessToken(accessToken)
                             .token(refreshTokenRequest.getToken())
@@ -73,4 +87,26 @@ public class UserInfoController {
                 }).orElseThrow(() -> new RuntimeException(
                         "Refresh token is not in database!"));
     }
+
+    //access token 폐기, exp 전이라도 이후 요청은 인증되지 않는다
+    @PostMapping("/logout")
+    public String logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new BusinessException("Bearer token 이 없습니다.", HttpStatus.UNAUTHORIZED);
+        }
+        VerifiedClaims claims;
+        try {
+            claims = jwtService.verify(authHeader.substring(7));
+        } catch (ExpiredJwtException e) {
+            //이미 만료된 token 은 denylist 에 추가할 필요가 없다 (access token 은 30초 만에 만료)
+            return e.getClaims().getSubject() + " token already expired!!";
+        } catch (JwtException e) {
+            throw new BusinessException("유효하지 않은 token 입니다.", HttpStatus.UNAUTHORIZED);
+        }
+        if (claims.getId() == null) {
+            throw new BusinessException("폐기할 수 없는 token 입니다.", HttpStatus.BAD_REQUEST);
+        }
+        tokenDenylist.revoke(claims.getId(), claims.getExpiration().getTime());
+        return claims.getSubject() + " token revoked!!";
+    }
 }
@@ -1,5 +1,6 @@
 package com.boot3.myrestapi.security.userinfos;
 
+import com.boot3.myrestapi.security.jwt.VerifiedClaims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +17,17 @@ public class UserInfoUserDetails implements UserDetails {
     private List<GrantedAuthority> authorities;
     private UserInfo userInfo;
 
+    /*
+        stateless 모드: 검증된 토큰의 claim 으로 principal 을 만든다 (DB 조회 없음)
+        UserInfo 는 id, name, email, roles 만 채워진 비영속 객체이므로
+        password 등 전체 엔티티가 필요하면 UserInfoRepository 로 id 를 이용해서 조회한다.
+     */
+    public static UserInfoUserDetails fromClaims(VerifiedClaims claims) {
+        UserInfo userInfo = new UserInfo(claims.getUserId(), claims.getName(),
+                claims.getSubject(), null, claims.getRoles());
+        return new UserInfoUserDetails(userInfo);
+    }
+
     public UserInfoUserDetails(UserInfo userInfo) {
         this.userInfo = userInfo;
         this.email=userInfo.getEmail();
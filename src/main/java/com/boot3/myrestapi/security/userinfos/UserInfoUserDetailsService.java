@@ -1,24 +1,76 @@
 package com.boot3.myrestapi.security.userinfos;
 
+import com.boot3.myrestapi.common.monitor.RequestPhase;
+import com.boot3.myrestapi.common.monitor.RequestPhases;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @Service
-public class UserInfoUserDetailsService implements UserDetailsService {
+public class UserInfoUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     private UserInfoRepository repository;
 
+    //email => UserInfoUserDetails, 크기와 TTL 로 제한되는 principal 캐시
+    private final Cache<String, UserInfoUserDetails> principalCache;
+
+    public UserInfoUserDetailsService(@Value("${security.principal-cache.max-size:10000}") long maxSize,
+                                      @Value("${security.principal-cache.ttl:5m}") Duration ttl,
+                                      MeterRegistry meterRegistry) {
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        //cache.gets(hit/miss), cache.evictions 등의 메트릭 등록
+        CaffeineCacheMetrics.monitor(meterRegistry, principalCache, "principalCache");
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
+        //같은 email 에 대한 동시 cache miss 는 한번의 DB 조회로 합쳐진다
+        long start = RequestPhases.start();
+        try {
+            return principalCache.get(username, this::findUserDetails);
+        } finally {
+            RequestPhases.stop(RequestPhase.LOAD_USER, start);
+        }
+    }
+
+    //로그인 성공 후 BCrypt cost 가 변경된 hash 로 password 를 교체
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserInfo userInfo = repository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("user not found " + user.getUsername()));
+        userInfo.setPassword(newPassword);
+        UserInfo savedUserInfo = repository.save(userInfo);
+        evict(savedUserInfo.getEmail());
+        return new UserInfoUserDetails(savedUserInfo);
+    }
+
+    /*
+        사용자가 저장되거나 roles 가 변경되면 반드시 호출해서 캐시된 principal 을 제거해야 한다.
+     */
+    public void evict(String email) {
+        principalCache.invalidate(email);
+    }
+
+    private UserInfoUserDetails findUserDetails(String username) {
         Optional<UserInfo> optionalUserInfo = repository.findByEmail(username);
         return //optionalUserInfo.map(userInfo -> new UserInfoUserDetails(userInfo))
                 optionalUserInfo.map(UserInfoUserDetails::new)
                     .orElseThrow(() -> new UsernameNotFoundException("user not found " + username));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,170 @@
+package com.boot3.myrestapi;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    platform thread / virtual thread 모드의 처리량과 latency 비교 (in-process 부하 테스트)
+    - 모드마다 application 을 임의 port 로 띄우고 (H2 DB 는 모드별로 분리, rate limit 은 끔)
+      login, 단건 조회, 목록 조회를 loadtest.concurrency 개의 client 가 loadtest.seconds 동안 반복 호출
+    - 결과(요청 수, 초당 처리량, p50/p99, status 별 개수)와 virtual thread pinning 위치는 출력만 한다
+    오래 걸리므로 -Dloadtest=true 일 때만 실행
+      mvn test -Dtest=ThreadModeLoadTest -Dloadtest=true -Dloadtest.concurrency=200 -Dloadtest.seconds=10
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ThreadModeLoadTest {
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 200);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 10));
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("loadtest.warm-up-seconds", 3));
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    record Result(String mode, String endpoint, long requests, double perSecond,
+                  double p50Millis, double p99Millis, Map<Integer, Long> statuses) {
+    }
+
+    @Test
+    public void comparePlatformAndVirtualThreads() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            results.addAll(run(virtual));
+        }
+
+        System.out.printf("concurrency=%d duration=%ds%n", CONCURRENCY, DURATION.toSeconds());
+        System.out.printf("%-8s %-6s %9s %9s %9s %9s  %s%n", "mode", "api", "requests", "req/s", "p50(ms)", "p99(ms)",
+                "status");
+        for (Result result : results) {
+            System.out.printf("%-8s %-6s %9d %9.0f %9.2f %9.2f  %s%n", result.mode(), result.endpoint(),
+                    result.requests(), result.perSecond(), result.p50Millis(), result.p99Millis(), result.statuses());
+        }
+        assertThat(results).allSatisfy(result -> assertThat(result.statuses()).containsKey(200));
+    }
+
+    private List<Result> run(boolean virtual) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                //properties() 는 application.properties 보다 우선순위가 낮으므로 command line 인자로 지정
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest-" + mode,
+                        "--security.rate-limit.enabled=false",
+                        "--logging.level.root=WARN")) {
+            assertThat(context.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class))
+                    .isEqualTo(virtual);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            JwtService jwtService = context.getBean(JwtService.class);
+
+            Function<String, HttpRequest> login = token -> HttpRequest.newBuilder(URI.create(baseUrl + "/users/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"admin@aa.com\",\"password\":\"pwd1\"}"))
+                    .build();
+            Function<String, HttpRequest> get = token -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/lectures/1"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET().build();
+            Function<String, HttpRequest> list = token -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/lectures?size=10"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET().build();
+
+            List<Result> results = new ArrayList<>();
+            for (Map.Entry<String, Function<String, HttpRequest>> endpoint :
+                    List.of(Map.entry("login", login), Map.entry("get", get), Map.entry("list", list))) {
+                String token = jwtService.generateToken("admin@aa.com");
+                HttpRequest request = endpoint.getValue().apply(token);
+                load(request, WARM_UP);
+                results.add(load(request, DURATION).toResult(mode, endpoint.getKey()));
+            }
+
+            if (virtual) {
+                MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                for (Timer timer : meterRegistry.find("jvm.threads.virtual.pinned").timers()) {
+                    System.out.printf("pinned %d times, %.1fms max at %s%n", timer.count(),
+                            timer.max(java.util.concurrent.TimeUnit.MILLISECONDS), timer.getId().getTag("site"));
+                }
+            }
+            return results;
+        }
+    }
+
+    private Samples load(HttpRequest request, Duration duration) throws Exception {
+        Samples samples = new Samples();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> clients = new ArrayList<>(CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                        samples.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        for (Future<long[]> client : clients) {
+            samples.latencies.add(client.get());
+        }
+        samples.elapsedNanos = duration.toNanos();
+        return samples;
+    }
+
+    private static class Samples {
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final List<long[]> latencies = new ArrayList<>();
+        long elapsedNanos;
+
+        Result toResult(String mode, String endpoint) {
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return new Result(mode, endpoint, all.length, all.length * 1e9 / elapsedNanos,
+                    percentile(all, 0.50), percentile(all, 0.99), counts);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
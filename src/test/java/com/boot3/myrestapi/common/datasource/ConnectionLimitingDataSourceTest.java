@@ -0,0 +1,110 @@
+package com.boot3.myrestapi.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+    ConnectionLimitingDataSource 의 permit 획득/반환과 대기 시간 초과 확인
+ */
+class ConnectionLimitingDataSourceTest {
+    private final DataSource target = mock(DataSource.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void limitConnections() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource dataSource =
+                new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+        dataSource.bindTo(meterRegistry);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.inUse()).isEqualTo(2);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(meterRegistry.get("datasource.guard.rejected").counter().count()).isEqualTo(1);
+
+        //close 를 여러번 호출해도 permit 은 한번만 반환
+        first.close();
+        first.close();
+        assertThat(dataSource.inUse()).isEqualTo(1);
+        Connection third = dataSource.getConnection();
+        assertThat(dataSource.inUse()).isEqualTo(2);
+
+        second.close();
+        third.close();
+        assertThat(dataSource.inUse()).isZero();
+    }
+
+    @Test
+    public void releaseWhenTargetFails() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+        ConnectionLimitingDataSource dataSource =
+                new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+        assertThat(dataSource.inUse()).isZero();
+    }
+
+    @Test
+    public void delegateCalls() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource =
+                new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        try (Connection guarded = dataSource.getConnection()) {
+            guarded.setAutoCommit(false);
+            assertThat(guarded).isEqualTo(guarded).isNotEqualTo(connection);
+        }
+        verify(connection).setAutoCommit(false);
+        verify(connection).close();
+    }
+
+    //virtual thread 1000 개가 connection 을 요청해도 동시에 사용하는 수는 max 이하
+    @Test
+    public void virtualThreadsDoNotExceedLimit() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        when(target.getConnection()).thenAnswer(invocation -> {
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            Connection connection = mock(Connection.class);
+            org.mockito.Mockito.doAnswer(close -> open.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+        ConnectionLimitingDataSource dataSource =
+                new ConnectionLimitingDataSource(target, 4, Duration.ofSeconds(30));
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        Thread.sleep(1);
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        assertThat(maxOpen.get()).isLessThanOrEqualTo(4);
+        assertThat(dataSource.inUse()).isZero();
+    }
+}
@@ -0,0 +1,98 @@
+package com.boot3.myrestapi.common.monitor;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.boot3.myrestapi.lectures.LectureFixtures.reqJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    lecture 요청의 phase 별 request.phase Timer 와 actuator(prometheus) 노출 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class RequestPhaseMetricsTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtService.generateToken("admin@aa.com");
+    }
+
+    @Test
+    public void queryLecturesPhases() throws Exception {
+        mockMvc.perform(get("/api/lectures").param("size", "3")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        for (String phase : List.of("jwt", "load-user", "authorization", "handler", "repository", "links",
+                "serialization")) {
+            assertThat(meterRegistry.get(RequestPhaseFilter.METRIC_NAME)
+                    .tags("phase", phase, "method", "GET", "uri", "/api/lectures").timer().count())
+                    .as(phase).isPositive();
+        }
+    }
+
+    @Test
+    public void createLecturePhases() throws Exception {
+        mockMvc.perform(post("/api/lectures")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reqJson("Phase Lecture", 10))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isCreated());
+
+        for (String phase : List.of("validation", "mapping", "repository", "links", "serialization")) {
+            assertThat(meterRegistry.get(RequestPhaseFilter.METRIC_NAME)
+                    .tags("phase", phase, "method", "POST", "uri", "/api/lectures").timer().count())
+                    .as(phase).isPositive();
+        }
+    }
+
+    @Test
+    public void prometheusEndpoint() throws Exception {
+        mockMvc.perform(get("/api/lectures/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        //health 는 인증 없이, prometheus 등 나머지 actuator 는 ROLE_ADMIN
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        String prometheus = mockMvc.perform(get("/actuator/prometheus")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(prometheus).contains(
+                "request_phase_seconds{method=\"GET\",phase=\"jwt\",uri=\"/api/lectures/{id}\",quantile=\"0.99\"}",
+                "request_phase_seconds_count{method=\"GET\",phase=\"serialization\",uri=\"/api/lectures/{id}\"}");
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics/request.phase")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"phase\"")));
+    }
+}
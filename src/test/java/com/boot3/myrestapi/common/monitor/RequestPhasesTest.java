@@ -0,0 +1,126 @@
+package com.boot3.myrestapi.common.monitor;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    RequestPhases 의 phase 누적, handler/직렬화 구분과 RequestPhaseFilter 의 Timer 기록 확인,
+    warm-up 후 요청당 계측에 할당이 없는지 확인
+ */
+class RequestPhasesTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestPhaseFilter filter = new RequestPhaseFilter(meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        RequestPhases.end();
+    }
+
+    @Test
+    public void notRecordedOutsideRequest() {
+        long start = RequestPhases.start();
+        assertThat(start).isZero();
+        RequestPhases.stop(RequestPhase.JWT, start);
+        RequestPhases.record(RequestPhase.REPOSITORY, 100);
+
+        RequestPhases phases = RequestPhases.begin();
+        assertThat(phases.isRecorded(RequestPhase.JWT)).isFalse();
+        assertThat(phases.isRecorded(RequestPhase.REPOSITORY)).isFalse();
+    }
+
+    @Test
+    public void accumulatePhases() throws Exception {
+        RequestPhases phases = RequestPhases.begin();
+        RequestPhases.record(RequestPhase.REPOSITORY, 100);
+        RequestPhases.record(RequestPhase.REPOSITORY, 50);
+        long start = RequestPhases.start();
+        Thread.sleep(2);
+        RequestPhases.stop(RequestPhase.JWT, start);
+
+        RequestPhases.handlerStarted();
+        Thread.sleep(2);
+        RequestPhases.bodyWriteStarted();
+        Thread.sleep(2);
+        RequestPhases.completed();
+        RequestPhases.end();
+
+        assertThat(phases.nanos(RequestPhase.REPOSITORY)).isEqualTo(150);
+        assertThat(phases.nanos(RequestPhase.JWT)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(2));
+        assertThat(phases.nanos(RequestPhase.HANDLER)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(2));
+        assertThat(phases.nanos(RequestPhase.SERIALIZATION)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(2));
+        assertThat(phases.isRecorded(RequestPhase.LINKS)).isFalse();
+
+        //body 없이 끝난 요청은 afterCompletion 까지 handler
+        phases = RequestPhases.begin();
+        RequestPhases.handlerStarted();
+        RequestPhases.completed();
+        assertThat(phases.isRecorded(RequestPhase.HANDLER)).isTrue();
+        assertThat(phases.isRecorded(RequestPhase.SERIALIZATION)).isFalse();
+    }
+
+    @Test
+    public void recordTimersByEndpoint() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lectures/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/lectures/{id}");
+
+        for (int i = 0; i < 3; i++) {
+            RequestPhases phases = RequestPhases.begin();
+            RequestPhases.record(RequestPhase.REPOSITORY, TimeUnit.MILLISECONDS.toNanos(1));
+            RequestPhases.end();
+            filter.record(request, phases);
+        }
+        RequestPhases phases = RequestPhases.begin();
+        RequestPhases.record(RequestPhase.JWT, 1000);
+        RequestPhases.end();
+        filter.record(new MockHttpServletRequest("GET", "/nowhere"), phases);
+
+        Timer repository = meterRegistry.get(RequestPhaseFilter.METRIC_NAME)
+                .tags("phase", "repository", "method", "GET", "uri", "/api/lectures/{id}").timer();
+        assertThat(repository.count()).isEqualTo(3);
+        assertThat(repository.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(3);
+        assertThat(meterRegistry.get(RequestPhaseFilter.METRIC_NAME).tags("phase", "jwt", "uri", "UNKNOWN").timer()
+                .count()).isEqualTo(1);
+        //기록되지 않은 phase 의 Timer 는 만들지 않는다
+        assertThat(meterRegistry.find(RequestPhaseFilter.METRIC_NAME).tags("phase", "links").timer()).isNull();
+    }
+
+    //phase 9개를 모두 기록하는 요청의 계측 비용, Timer 가 만들어진 뒤에는 요청마다 할당이 없어야 한다
+    @Test
+    public void instrumentationCost() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lectures");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/lectures");
+        RequestPhase[] allPhases = RequestPhase.values();
+        Runnable oneRequest = () -> {
+            RequestPhases phases = RequestPhases.begin();
+            for (RequestPhase phase : allPhases) {
+                RequestPhases.stop(phase, RequestPhases.start());
+            }
+            RequestPhases.handlerStarted();
+            RequestPhases.bodyWriteStarted();
+            RequestPhases.completed();
+            RequestPhases.end();
+            filter.record(request, phases);
+        };
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int iterations = 100_000;
+        for (int i = 0; i < iterations; i++) {
+            oneRequest.run();
+        }
+        long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            oneRequest.run();
+        }
+        long bytesPerRequest = (threadMXBean.getCurrentThreadAllocatedBytes() - bytes) / iterations;
+        assertThat(bytesPerRequest).isZero();
+    }
+}
@@ -0,0 +1,55 @@
+package com.boot3.myrestapi.common.monitor;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    synchronized 블록 안에서 sleep 하는 virtual thread 가 pinning 으로 기록되는지 확인
+ */
+class VirtualThreadPinningMonitorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor =
+            new VirtualThreadPinningMonitor(Duration.ofMillis(10), meterRegistry);
+    private final Object lock = new Object();
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    public void recordPinnedSite() throws Exception {
+        monitor.start();
+        assertThat(monitor.isRunning()).isTrue();
+
+        Thread.ofVirtual().start(this::sleepWhileHoldingLock).join();
+
+        //JFR event 는 약 1초 주기로 전달된다
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        Timer timer = null;
+        while (timer == null && System.nanoTime() < deadline) {
+            timer = meterRegistry.find("jvm.threads.virtual.pinned").timer();
+            Thread.sleep(100);
+        }
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isPositive();
+        assertThat(timer.getId().getTag("site"))
+                .startsWith(VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileHoldingLock:");
+    }
+
+    private void sleepWhileHoldingLock() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.boot3.myrestapi.common.serializer;
+
+import com.boot3.myrestapi.lectures.LectureFields;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.lectures.dto.LectureResource;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.util.StreamUtils;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.boot3.myrestapi.lectures.LectureFixtures.resDto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    LectureResDtoSerializer 결과가 기본(bean) 직렬화와 같은지 비교하고,
+    20/100/1000 개 페이지의 직렬화 처리량과 할당 byte 수를 측정 (측정값은 출력만)
+    측정은 -Dbenchmark=true 일 때만 실행
+      mvn test -Dtest=LectureResDtoSerializerTest -Dbenchmark=true
+ */
+class LectureResDtoSerializerTest {
+    private static final int[] PAGE_SIZES = {20, 100, 1000};
+
+    private final ObjectMapper beanMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .build();
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new SimpleModule().addSerializer(new LectureResDtoSerializer()))
+            .build();
+
+    //@JsonUnwrapped prefix 확인용
+    record Prefixed(@JsonUnwrapped(prefix = "lecture.") LectureResDto lecture, int rank) {
+    }
+
+    @Test
+    public void sameAsBeanSerializer() throws Exception {
+        LectureResDto withNulls = new LectureResDto();
+        LectureResDto special = resDto(7);
+        special.setName("\"quoted\" \\ 줄\n바꿈 \u0001 😀");
+        special.setBeginEnrollmentDateTime(LocalDateTime.of(1, 1, 1, 0, 0));
+        special.setCloseEnrollmentDateTime(LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+        special.setBeginLectureDateTime(LocalDateTime.of(12345, 1, 1, 0, 0));
+        special.setEndLectureDateTime(LocalDateTime.of(0, 6, 1, 9, 5));
+        special.setBasePrice(Integer.MIN_VALUE);
+        special.setMaxPrice(Integer.MAX_VALUE);
+
+        for (LectureResDto resDto : List.of(resDto(1), withNulls, special)) {
+            assertThat(mapper.writeValueAsString(resDto)).isEqualTo(beanMapper.writeValueAsString(resDto));
+            assertThat(mapper.writeValueAsString(new LectureResource(resDto, "http://localhost/api/lectures")))
+                    .isEqualTo(beanMapper.writeValueAsString(new LectureResource(resDto, "http://localhost/api/lectures")));
+            assertThat(mapper.writeValueAsString(new Prefixed(resDto, 3)))
+                    .isEqualTo(beanMapper.writeValueAsString(new Prefixed(resDto, 3)));
+        }
+        assertThat(mapper.writeValueAsString(new Prefixed(resDto(1), 3))).contains("\"lecture.id\":1");
+        //fields 파라미터의 whitelist 는 응답 필드와 같다
+        assertThat(beanMapper.readTree(beanMapper.writeValueAsString(resDto(1))).fieldNames())
+                .toIterable().containsExactlyElementsOf(LectureFields.ALL);
+        assertThat(mapper.writerWithDefaultPrettyPrinter().writeValueAsString(page(20)))
+                .isEqualTo(beanMapper.writerWithDefaultPrettyPrinter().writeValueAsString(page(20)));
+    }
+
+    @Test
+    public void pageSameAsBeanSerializer() throws Exception {
+        for (int size : PAGE_SIZES) {
+            List<LectureResource> page = page(size);
+            assertThat(mapper.writeValueAsBytes(page)).isEqualTo(beanMapper.writeValueAsBytes(page));
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void pageThroughput() throws Exception {
+        for (int size : PAGE_SIZES) {
+            List<LectureResource> page = page(size);
+            long[] bean = measure(beanMapper, page);
+            long[] custom = measure(mapper, page);
+            System.out.printf("page of %d: bean %d MB/s, %d bytes allocated / serializer %d MB/s, %d bytes allocated%n",
+                    size, bean[0], bean[1], custom[0], custom[1]);
+            assertThat(custom[1]).isLessThan(bean[1]);
+        }
+    }
+
+    //warm-up 후 {처리량 MB/s, 페이지 하나당 할당 byte}
+    private static long[] measure(ObjectMapper objectMapper, List<LectureResource> page) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        OutputStream out = StreamUtils.nonClosing(OutputStream.nullOutputStream());
+        int iterations = Math.max(200, 100_000 / page.size());
+        long length = objectMapper.writeValueAsBytes(page).length;
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValue(out, page);
+        }
+        long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValue(out, page);
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+        return new long[]{length * iterations * 1000 / elapsed, allocated / iterations};
+    }
+
+    private static List<LectureResource> page(int size) {
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(id -> new LectureResource(resDto(id), "http://localhost:8080/api/lectures"))
+                .toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.boot3.myrestapi.lectures.LectureFixtures.reqJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureBatchTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Test
+    public void createLectures() throws Exception {
+        String body = "[" + reqJson("batch 1", 10) + "," + reqJson("batch 2", 0) + "]";
+
+        mockMvc.perform(post("/api/lectures/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken("admin@aa.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("_embedded.lectureResourceList[0].name").value("batch 1"))
+                .andExpect(jsonPath("_embedded.lectureResourceList[1].email").value("admin@aa.com"))
+                .andExpect(jsonPath("_links.query-lectures").exists());
+    }
+
+    @Test
+    public void reportErrorsPerIndexAndSaveNothing() throws Exception {
+        long before = lectureRepository.count();
+        //1번: name 누락, 2번: basePrice > maxPrice (LectureValidator)
+        String body = "[" + reqJson("ok", 10) + "," + reqJson("", 10) + ","
+                + reqJson("price", 100) + "]";
+
+        mockMvc.perform(post("/api/lectures/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken("admin@aa.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("lectures[1].name"))
+                .andExpect(jsonPath("errors[1].field").value("lectures[2].basePrice"))
+                .andExpect(jsonPath("errors[2].field").value("lectures[2].maxPrice"))
+                .andExpect(jsonPath("_links.index").exists());
+
+        assertThat(lectureRepository.count()).isEqualTo(before);
+    }
+}
@@ -0,0 +1,139 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static com.boot3.myrestapi.lectures.LectureFixtures.reqJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureETagTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    LectureRepository lectureRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtService.generateToken("admin@aa.com");
+    }
+
+    @Test
+    public void getLectureNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/lectures/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"1-");
+
+        MvcResult notModified = mockMvc.perform(get("/api/lectures/1")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andReturn();
+        assertThat(notModified.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    public void updateWithIfMatch() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reqJson("v0", 10)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String location = created.getResponse().getHeader(HttpHeaders.LOCATION);
+        String createdETag = created.getResponse().getHeader(HttpHeaders.ETAG);
+
+        String updatedETag = mockMvc.perform(put(location)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, createdETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reqJson("v1", 10)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).isNotEqualTo(createdETag);
+
+        //이전 version 의 ETag 로 수정하면 412
+        mockMvc.perform(put(location)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, createdETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reqJson("v2", 10)))
+                .andExpect(status().isPreconditionFailed());
+
+        //이전 ETag 로 조회하면 변경된 내용을 다시 받는다
+        mockMvc.perform(get(location)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, createdETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, updatedETag));
+    }
+
+    @Test
+    public void updateLectureWithoutOwnerMatchesGetETag() throws Exception {
+        //등록한 User 가 없는 Lecture 는 누구나 수정할 수 있지만 owner 용 ETag 를 받으면 안된다
+        LocalDateTime dateTime = LocalDateTime.of(2024, 6, 25, 14, 21);
+        Lecture lecture = lectureRepository.save(Lecture.builder()
+                .name("no owner").description("ETag")
+                .beginEnrollmentDateTime(dateTime).closeEnrollmentDateTime(dateTime)
+                .beginLectureDateTime(dateTime).endLectureDateTime(dateTime)
+                .basePrice(10).maxPrice(20).limitOfEnrollment(20).location("강의장")
+                .lectureStatus(LectureStatus.DRAFT)
+                .build());
+        String location = "/api/lectures/" + lecture.getId();
+
+        String updatedETag = mockMvc.perform(put(location)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reqJson("v1", 10)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).doesNotContain("-owner");
+
+        mockMvc.perform(get(location)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, updatedETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void queryLecturesWeakETag() throws Exception {
+        String eTag = mockMvc.perform(get("/api/lectures").param("size", "5")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"");
+
+        mockMvc.perform(get("/api/lectures").param("size", "5")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/lectures").param("size", "6")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+}
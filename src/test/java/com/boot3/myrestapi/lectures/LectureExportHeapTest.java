@@ -0,0 +1,111 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.common.serializer.LectureResDtoSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    LectureExporter 가 row 를 모으지 않고 stream 으로 쓰는지 heap 사용량으로 확인
+    - 100만 row 를 export 하는 도중(절반 시점)에 GC 후 heap 사용량이 시작 전보다 크게 늘지 않아야 한다
+      (row 를 List 에 모으는 구현이면 수백 MB 가 늘어난다)
+    - H2 in-memory DB 는 table 과 결과를 heap 에 두고 fetch-size 도 무시하므로
+      file DB + LAZY_QUERY_EXECUTION(결과를 미리 만들지 않고 cursor 로 읽음) + 작은 page cache 를 사용
+    오래 걸리므로 -Dloadtest=true 일 때만 실행, pom 의 loadtest profile 이 작은 heap(-Xmx128m) 의 별도 JVM 에서 실행한다
+      mvn test-compile surefire:test@export-heap-test -Dloadtest=true
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class LectureExportHeapTest {
+    private static final int ROWS = 1_000_000;
+    private static final long MAX_HEAP_GROWTH = 32L * 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void exportKeepsHeapFlat() throws Exception {
+        String url = "jdbc:h2:file:" + tempDir.resolve("export") + ";LAZY_QUERY_EXECUTION=TRUE;CACHE_SIZE=4096";
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(url, "sa", "", true);
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            createLectures(jdbcTemplate);
+            ObjectMapper objectMapper = JsonMapper.builder()
+                    .addModule(new JavaTimeModule())
+                    .addModule(new SimpleModule().addSerializer(new LectureResDtoSerializer()))
+                    .build();
+            LectureExporter lectureExporter = new LectureExporter(dataSource, objectMapper, 500);
+
+            long before = usedHeapAfterGc();
+            HeapSamplingOutputStream out = new HeapSamplingOutputStream(ROWS / 2);
+            long exported = lectureExporter.export(null, LectureExporter.Format.NDJSON, out);
+
+            assertThat(exported).isEqualTo(ROWS);
+            assertThat(out.lines).isEqualTo(ROWS);
+            assertThat(out.sampledHeap).isPositive();
+            assertThat(out.sampledHeap - before).isLessThan(MAX_HEAP_GROWTH);
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    //LectureExporter.SELECT 가 읽는 컬럼만 가진 table, 10만 row 씩 commit
+    private static void createLectures(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("create table user_info (id int primary key, email varchar(255))");
+        jdbcTemplate.execute("create table lectures (id int primary key, name varchar(255), " +
+                "description varchar(255), begin_enrollment_date_time timestamp, close_enrollment_date_time timestamp, " +
+                "begin_lecture_date_time timestamp, end_lecture_date_time timestamp, location varchar(255), " +
+                "base_price int, max_price int, limit_of_enrollment int, offline boolean, free boolean, " +
+                "lecture_status varchar(20), user_info_id int)");
+        int chunk = 100_000;
+        for (int offset = 0; offset < ROWS; offset += chunk) {
+            jdbcTemplate.update("insert into lectures select x + ?, 'bulk ' || x, 'bulk lecture description', " +
+                    "timestamp '2024-06-23 14:21:00', timestamp '2024-06-24 14:21:00', " +
+                    "timestamp '2024-06-25 14:21:00', timestamp '2024-06-26 14:21:00', " +
+                    "'강의장', 100, 200, 100, true, false, 'DRAFT', null from system_range(1, ?)", offset, chunk);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+
+    //줄 수를 세다가 sampleAtLine 번째 줄에서 GC 후 heap 사용량을 기록
+    private static class HeapSamplingOutputStream extends OutputStream {
+        private final long sampleAtLine;
+        private long lines;
+        private long sampledHeap;
+
+        private HeapSamplingOutputStream(long sampleAtLine) {
+            this.sampleAtLine = sampleAtLine;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines == sampleAtLine) {
+                sampledHeap = usedHeapAfterGc();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.boot3.myrestapi.lectures.LectureFixtures.deleteBulk;
+import static com.boot3.myrestapi.lectures.LectureFixtures.insertBulk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureExportTest {
+    private static final int BULK_ID_OFFSET = 1_000_000;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    LectureExporter lectureExporter;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        deleteBulk(jdbcTemplate, BULK_ID_OFFSET);
+    }
+
+    @Test
+    public void exportNdjson() throws Exception {
+        String body = mockMvc.perform(get("/api/lectures/export")
+                        .param("name", "1 Lecture")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken("admin@aa.com")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(body).startsWith("{\"id\":1,\"name\":\"1 Lecture \",\"description\":\"Test Lecture\"," +
+                "\"beginEnrollmentDateTime\":\"2024-06-23 14:21\"");
+        assertThat(body).doesNotContain("ownerId", "version", "_links");
+        assertThat(body.lines()).allMatch(line -> line.contains("1 Lecture"));
+        assertThat(body).endsWith("}\n");
+    }
+
+    @Test
+    public void exportCsv() throws Exception {
+        String body = mockMvc.perform(get("/api/lectures/export")
+                        .param("format", "csv")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken("admin@aa.com")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(body.lines().findFirst()).hasValue("id,name,description,beginEnrollmentDateTime," +
+                "closeEnrollmentDateTime,beginLectureDateTime,endLectureDateTime,location,basePrice,maxPrice," +
+                "limitOfEnrollment,offline,free,email,lectureStatus");
+        assertThat(body).contains("\n1,1 Lecture ,Test Lecture,2024-06-23 14:21,2024-06-24 14:21," +
+                "2024-06-25 14:21,2024-06-26 14:21,1 강의장,100,200,100,true,false,");
+    }
+
+    @Test
+    public void nameFilterMatchesWildcardsLiterally() throws Exception {
+        String insert = "insert into lectures (id, name, begin_lecture_date_time, base_price, max_price, " +
+                "limit_of_enrollment, offline, free, lecture_status, version) " +
+                "values (?, ?, timestamp '2024-06-25 14:21:00', 0, 0, 0, false, true, 'DRAFT', 0)";
+        jdbcTemplate.update(insert, BULK_ID_OFFSET + 1, "50%_off");
+        jdbcTemplate.update(insert, BULK_ID_OFFSET + 2, "50% off");
+        jdbcTemplate.update(insert, BULK_ID_OFFSET + 3, "500_off");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = lectureExporter.export(new LectureExporter.Filter("50%_off", null, null),
+                LectureExporter.Format.CSV, out);
+
+        assertThat(exported).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("\n" + (BULK_ID_OFFSET + 1) + ",50%_off,");
+    }
+
+    @Test
+    public void exportRequiresAdmin() throws Exception {
+        mockMvc.perform(get("/api/lectures/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken("user@aa.com")))
+                .andExpect(status().isForbidden());
+    }
+
+    /*
+        대량 row 를 응답 body 에 모으지 않고 byte 수만 세는 stream 으로 export
+     */
+    @Test
+    public void streamLargeExport() throws Exception {
+        int rows = 200_000;
+        insertBulk(jdbcTemplate, BULK_ID_OFFSET, rows);
+        long expected = jdbcTemplate.queryForObject("select count(*) from lectures", Long.class);
+
+        CountingOutputStream out = new CountingOutputStream();
+        long exported = lectureExporter.export(null, LectureExporter.Format.NDJSON, out);
+
+        assertThat(exported).isEqualTo(expected);
+        assertThat(out.lines).isEqualTo(expected);
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+/*
+    Lecture 테스트에서 같이 사용하는 fixture
+    - resDto: 직렬화, link, Smile 테스트용 LectureResDto (id 마다 날짜가 1시간씩 다르고, 짝수 id 만 email 이 있다)
+    - reqJson: 등록/수정 요청 body (LectureReqDto JSON, maxPrice 는 20)
+    - insertBulk/deleteBulk: 대량 row 를 id offset 뒤에 H2 system_range 로 한 번에 insert 하고, 테스트 후 삭제
+ */
+public final class LectureFixtures {
+    private static final String REQ_JSON = """
+            {"name":"%s","description":"Test Lecture","beginEnrollmentDateTime":"2024-06-23 14:21",
+             "closeEnrollmentDateTime":"2024-06-24 14:21","beginLectureDateTime":"2024-06-25 14:21",
+             "endLectureDateTime":"2024-06-26 14:21","location":"강의장","basePrice":%d,"maxPrice":20,
+             "limitOfEnrollment":20}""";
+    private static final String INSERT_BULK = "insert into lectures (id, name, description, " +
+            "begin_enrollment_date_time, close_enrollment_date_time, begin_lecture_date_time, " +
+            "end_lecture_date_time, location, base_price, max_price, limit_of_enrollment, offline, free, " +
+            "lecture_status, version) " +
+            "select x + ?, 'bulk ' || x, 'bulk lecture description', timestamp '2024-06-23 14:21:00', " +
+            "timestamp '2024-06-24 14:21:00', timestamp '2024-06-25 14:21:00', timestamp '2024-06-26 14:21:00', " +
+            "'강남역 강의장', 100, 200, 100, true, false, 'DRAFT', 0 from system_range(1, ?)";
+
+    private LectureFixtures() {
+    }
+
+    //basePrice 가 maxPrice(20) 보다 크면 LectureValidator 오류
+    public static String reqJson(String name, int basePrice) {
+        return REQ_JSON.formatted(name, basePrice);
+    }
+
+    //id 는 offset + 1 ~ offset + rows
+    public static void insertBulk(JdbcTemplate jdbcTemplate, int offset, int rows) {
+        jdbcTemplate.update(INSERT_BULK, offset, rows);
+    }
+
+    public static void deleteBulk(JdbcTemplate jdbcTemplate, int offset) {
+        jdbcTemplate.update("delete from lectures where id > ?", offset);
+    }
+
+    public static LectureResDto resDto(int id) {
+        LocalDateTime begin = LocalDateTime.of(2024, 6, 23, 14, 21).plusHours(id);
+        return LectureResDto.builder()
+                .id(id)
+                .name(id + " Lecture ")
+                .description("Test Lecture")
+                .beginEnrollmentDateTime(begin)
+                .closeEnrollmentDateTime(begin.plusDays(1))
+                .beginLectureDateTime(begin.plusDays(2))
+                .endLectureDateTime(begin.plusDays(3))
+                .location(id + " 강의장")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .offline(true)
+                .email(id % 2 == 0 ? "admin@aa.com" : null)
+                .ownerId(1)
+                .version(0)
+                .build();
+    }
+}
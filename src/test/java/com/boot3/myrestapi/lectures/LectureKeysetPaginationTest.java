@@ -0,0 +1,82 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureKeysetPaginationTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    LectureRepository lectureRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtService.generateToken("admin@aa.com");
+    }
+
+    @Test
+    public void followNextLinksById() throws Exception {
+        assertThat(collectIds("/api/lectures?after=&size=4"))
+                .containsExactlyElementsOf(allIds());
+    }
+
+    @Test
+    public void followNextLinksByBeginLectureDateTime() throws Exception {
+        //LectureInsertRunner 의 데이터는 beginLectureDateTime 이 모두 같으므로 id 로 순서가 결정된다
+        assertThat(collectIds("/api/lectures?after=&sort=beginLectureDateTime&size=4"))
+                .containsExactlyElementsOf(allIds());
+    }
+
+    @Test
+    public void invalidCursor() throws Exception {
+        mockMvc.perform(get("/api/lectures").param("after", "not-a-cursor")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/lectures").param("after", "").param("sort", "name")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Integer> collectIds(String url) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        String next = url;
+        while (next != null) {
+            String json = mockMvc.perform(get(next).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            Map<String, Object> links = JsonPath.read(json, "$._links");
+            assertThat(json).doesNotContain("\"page\"");
+            ids.addAll(JsonPath.read(json, "$._embedded.lectureResourceList[*].id"));
+            next = links.containsKey("next")
+                    ? JsonPath.<String>read(json, "$._links.next.href").replace("http://localhost", "")
+                    : null;
+        }
+        return ids;
+    }
+
+    private List<Integer> allIds() {
+        return lectureRepository.findAll().stream().map(Lecture::getId).sorted().toList();
+    }
+}
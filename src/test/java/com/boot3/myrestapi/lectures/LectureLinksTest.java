@@ -0,0 +1,133 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.lectures.dto.LectureResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.hateoas.Links;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.boot3.myrestapi.lectures.LectureFixtures.resDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/*
+    LectureLinks 로 만든 link 가 linkTo(LectureController.class) 로 만든 link 와 같은지 비교하고,
+    100 row 페이지의 LectureResource 생성 CPU 시간과 할당 byte 수를 측정 (측정값은 출력만)
+    측정은 -Dbenchmark=true 일 때만 실행
+      mvn test -Dtest=LectureLinksTest -Dbenchmark=true
+ */
+class LectureLinksTest {
+    private static final int PAGE_SIZE = 100;
+
+    @BeforeEach
+    void setUp() {
+        bindRequest("api.example.com", 8443);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void sameLinksAsLinkTo() {
+        for (int id = 1; id <= PAGE_SIZE; id++) {
+            LectureResource lectureResource = new LectureResource(resDto(id));
+
+            assertThat(lectureResource.getLinks())
+                    .isEqualTo(Links.of(linkTo(LectureController.class).slash(id).withSelfRel()));
+        }
+        assertThat(LectureLinks.lecture(7, "update-lecture"))
+                .isEqualTo(linkTo(LectureController.class).slash(7).withRel("update-lecture"));
+        assertThat(LectureLinks.lectures("query-lectures"))
+                .isEqualTo(linkTo(LectureController.class).withRel("query-lectures"));
+        assertThat(LectureLinks.baseHref()).isEqualTo("http://api.example.com:8443/api/lectures");
+    }
+
+    @Test
+    public void baseHrefIsCachedPerRequest() {
+        String baseHref = LectureLinks.baseHref();
+        assertThat(LectureLinks.baseHref()).isSameAs(baseHref);
+
+        bindRequest("other.example.com", 80);
+        assertThat(LectureLinks.baseHref()).isEqualTo("http://other.example.com/api/lectures");
+
+        //요청 처리 중이 아니면 매번 linkTo 로 만든다
+        RequestContextHolder.resetRequestAttributes();
+        assertThat(new LectureResource(resDto(1)).getLinks())
+                .isEqualTo(Links.of(linkTo(LectureController.class).slash(1).withSelfRel()));
+    }
+
+    @Test
+    public void pageLinksSameAsLinkTo() {
+        assertThat(baseHrefPage().get()).extracting(LectureResource::getLinks)
+                .isEqualTo(linkToPage().get().stream().map(LectureResource::getLinks).toList());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void pageLinkCost() {
+        long[] linkTo = measure(linkToPage());
+        long[] baseHref = measure(baseHrefPage());
+        System.out.printf("page of %d: linkTo %d ns, %d bytes / base href %d ns, %d bytes%n",
+                PAGE_SIZE, linkTo[0], linkTo[1], baseHref[0], baseHref[1]);
+        assertThat(baseHref[1]).isLessThan(linkTo[1]);
+    }
+
+    private static Supplier<List<LectureResource>> linkToPage() {
+        return () -> {
+            List<LectureResource> page = new ArrayList<>(PAGE_SIZE);
+            for (int id = 1; id <= PAGE_SIZE; id++) {
+                LectureResource lectureResource = new LectureResource(resDto(id), "");
+                lectureResource.removeLinks();
+                lectureResource.add(linkTo(LectureController.class).slash(id).withSelfRel());
+                page.add(lectureResource);
+            }
+            return page;
+        };
+    }
+
+    private static Supplier<List<LectureResource>> baseHrefPage() {
+        return () -> {
+            String baseHref = LectureLinks.baseHref();
+            List<LectureResource> page = new ArrayList<>(PAGE_SIZE);
+            for (int id = 1; id <= PAGE_SIZE; id++) {
+                page.add(new LectureResource(resDto(id), baseHref));
+            }
+            return page;
+        };
+    }
+
+    //warm-up 후 페이지 하나당 평균 {CPU ns, 할당 byte}
+    private static long[] measure(Supplier<List<LectureResource>> page) {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int iterations = 2000;
+        for (int i = 0; i < iterations; i++) {
+            page.get();
+        }
+        long cpu = threadMXBean.getCurrentThreadCpuTime();
+        long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            page.get();
+        }
+        return new long[]{(threadMXBean.getCurrentThreadCpuTime() - cpu) / iterations,
+                (threadMXBean.getCurrentThreadAllocatedBytes() - bytes) / iterations};
+    }
+
+    private static void bindRequest(String host, int port) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lectures");
+        request.setServerName(host);
+        request.setServerPort(port);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
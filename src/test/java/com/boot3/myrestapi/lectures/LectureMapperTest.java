@@ -0,0 +1,95 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.security.userinfos.UserInfo;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    LectureMapper 가 기존 ModelMapper 와 같은 결과를 만드는지 비교
+ */
+class LectureMapperTest {
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final LectureMapper lectureMapper = new LectureMapper();
+
+    @Test
+    public void toResDto() {
+        Lecture lecture = lecture();
+        lecture.setUserInfo(new UserInfo(1, "adminboot", "admin@aa.com", "pwd", "ROLE_ADMIN"));
+
+        LectureResDto expected = new LectureResDto();
+        expected.setEmail(lecture.getUserInfo().getEmail());
+        expected.setOwnerId(lecture.getUserInfo().getId());
+        modelMapper.map(lecture, expected);
+
+        assertThat(lectureMapper.toResDto(lecture)).isEqualTo(expected);
+    }
+
+    @Test
+    public void toResDtoWithoutUserInfo() {
+        Lecture lecture = lecture();
+
+        assertThat(lectureMapper.toResDto(lecture)).isEqualTo(modelMapper.map(lecture, LectureResDto.class));
+    }
+
+    @Test
+    public void toEntity() {
+        LectureReqDto reqDto = reqDto();
+
+        assertThat(lectureMapper.toEntity(reqDto))
+                .usingRecursiveComparison()
+                .isEqualTo(modelMapper.map(reqDto, Lecture.class));
+    }
+
+    @Test
+    public void updateEntity() {
+        LectureReqDto reqDto = reqDto();
+        reqDto.setLocation(null);
+
+        Lecture expected = lecture();
+        modelMapper.map(reqDto, expected);
+        Lecture actual = lecture();
+        lectureMapper.updateEntity(reqDto, actual);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual.getId()).isEqualTo(10);
+    }
+
+    private static Lecture lecture() {
+        return Lecture.builder()
+                .id(10)
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 6, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 6, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 6, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 6, 26, 14, 21))
+                .location("강남역 D2 스타텁 팩토리")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .offline(true)
+                .lectureStatus(LectureStatus.PUBLISHED)
+                .build();
+    }
+
+    private static LectureReqDto reqDto() {
+        return LectureReqDto.builder()
+                .name("Spring Boot")
+                .description("Spring Boot 3")
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 7, 1, 9, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 7, 2, 9, 0))
+                .beginLectureDateTime(LocalDateTime.of(2024, 7, 3, 9, 0))
+                .endLectureDateTime(LocalDateTime.of(2024, 7, 4, 9, 0))
+                .location("판교")
+                .basePrice(0)
+                .maxPrice(0)
+                .limitOfEnrollment(20)
+                .build();
+    }
+}
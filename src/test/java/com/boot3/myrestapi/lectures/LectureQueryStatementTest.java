@@ -0,0 +1,144 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfos.UserInfo;
+import com.boot3.myrestapi.security.userinfos.UserInfoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.boot3.myrestapi.lectures.LectureFixtures.reqJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    Lecture 조회 요청 1건당 실행되는 SQL 개수 확인 (UserInfo N+1 조회가 없어야 한다)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureQueryStatementTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    private String token;
+    private Statistics statistics;
+    //다른 테스트와 같은 DB 를 쓰므로 변경한 등록자와 추가한 Lecture 는 테스트 후 되돌린다
+    private final Map<Integer, Integer> originalOwners = new LinkedHashMap<>();
+    private int maxLectureId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate.query("select id, user_info_id from lectures", resultSet -> {
+            originalOwners.put(resultSet.getInt("id"), (Integer) resultSet.getObject("user_info_id"));
+        });
+        maxLectureId = originalOwners.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+
+        //Lecture 마다 등록자를 admin/user 로 번갈아 지정
+        UserInfo admin = userInfoRepository.findByEmail("admin@aa.com").orElseThrow();
+        UserInfo user = userInfoRepository.findByEmail("user@aa.com").orElseThrow();
+        List<Lecture> lectures = lectureRepository.findAll();
+        for (int i = 0; i < lectures.size(); i++) {
+            lectures.get(i).setUserInfo(i % 2 == 0 ? admin : user);
+        }
+        lectureRepository.saveAll(lectures);
+
+        token = jwtService.generateToken("admin@aa.com");
+        //principal 캐시를 채워서 인증 단계의 조회는 제외
+        mockMvc.perform(get("/api/lectures/2").header("Authorization", "Bearer " + token));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<Integer> addedIds = jdbcTemplate.queryForList("select id from lectures where id > ?", Integer.class,
+                maxLectureId);
+        jdbcTemplate.update("delete from lectures where id > ?", maxLectureId);
+        originalOwners.forEach((id, ownerId) ->
+                jdbcTemplate.update("update lectures set user_info_id = ? where id = ?", ownerId, id));
+        //캐시와 검색 색인도 되돌린 값으로
+        originalOwners.keySet().forEach(id -> eventPublisher.publishEvent(new LectureChangedEvent(id)));
+        addedIds.forEach(id -> eventPublisher.publishEvent(new LectureChangedEvent(id)));
+    }
+
+    @Test
+    public void queryLecturesUsesOneSelectPlusCount() throws Exception {
+        mockMvc.perform(get("/api/lectures").param("size", "10")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.lectureResourceList[0].email").value("admin@aa.com"))
+                .andExpect(jsonPath("_embedded.lectureResourceList[1].email").value("user@aa.com"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void getLectureUsesOneSelect() throws Exception {
+        mockMvc.perform(get("/api/lectures/1").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("email").value("admin@aa.com"))
+                .andExpect(jsonPath("ownerId").doesNotExist())
+                .andExpect(jsonPath("_links.update-lecture").exists());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        //두번째 조회는 LectureReadCache 에서
+        mockMvc.perform(get("/api/lectures/1").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("email").value("admin@aa.com"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void createLecturesUsesJdbcBatch() throws Exception {
+        int size = 120;
+        String lecture = reqJson("batch", 10);
+        String body = "[" + String.join(",", Collections.nCopies(size, lecture)) + "]";
+
+        mockMvc.perform(post("/api/lectures/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("_embedded.lectureResourceList.length()").value(size));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(size);
+        //insert 는 batch_size(50) 단위로 묶이므로 row 마다 statement 를 만들지 않는다 (sequence 조회 포함)
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+}
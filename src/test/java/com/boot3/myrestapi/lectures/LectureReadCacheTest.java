@@ -0,0 +1,111 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LectureReadCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LectureReadCache lectureReadCache = new LectureReadCache(100, Duration.ofMinutes(10), meterRegistry);
+
+    //DB 역할, 현재 commit 된 Lecture 의 이름 version
+    private final AtomicInteger committedVersion = new AtomicInteger();
+
+    @Test
+    public void hitAndMissMetrics() {
+        lectureReadCache.get(1, this::load);
+        lectureReadCache.get(1, this::load);
+        assertThat(lectureReadCache.get(2, id -> Optional.empty())).isEmpty();
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "lectureCache").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "lectureCache").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    /*
+        조회가 commit 이전 값을 읽고 있는 동안 update 가 commit 되고 invalidate 되는 경우에도
+        invalidate 이후의 조회는 commit 된 값을 읽어야 한다
+     */
+    @Test
+    public void invalidateWaitsForInFlightLoad() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+
+        CompletableFuture<Optional<LectureResDto>> reader = CompletableFuture.supplyAsync(() ->
+                lectureReadCache.get(1, id -> {
+                    Optional<LectureResDto> stale = load(id);
+                    loaded.countDown();
+                    await(committed);
+                    return stale;
+                }));
+        assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //update commit 후 invalidate
+        committedVersion.incrementAndGet();
+        CompletableFuture<Void> invalidation = CompletableFuture.runAsync(() ->
+                lectureReadCache.onLectureChanged(new LectureChangedEvent(1)));
+        committed.countDown();
+
+        assertThat(reader.get(5, TimeUnit.SECONDS).orElseThrow().getName()).isEqualTo("v0");
+        invalidation.get(5, TimeUnit.SECONDS);
+        assertThat(lectureReadCache.get(1, this::load).orElseThrow().getName()).isEqualTo("v1");
+    }
+
+    @Test
+    public void noStaleReadAfterConcurrentUpdates() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<CompletableFuture<Void>> readers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            readers.add(CompletableFuture.runAsync(() -> {
+                while (running.get()) {
+                    lectureReadCache.get(1, this::load);
+                }
+            }, executor));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            committedVersion.incrementAndGet();
+            lectureReadCache.onLectureChanged(new LectureChangedEvent(1));
+            //invalidate 가 끝난 뒤의 조회는 방금 commit 된 version 이상이어야 한다
+            int version = Integer.parseInt(lectureReadCache.get(1, this::load).orElseThrow().getName().substring(1));
+            assertThat(version).isGreaterThanOrEqualTo(i + 1);
+        }
+        running.set(false);
+        CompletableFuture.allOf(readers.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(lectureReadCache.get(1, this::load).orElseThrow().getName())
+                .isEqualTo("v" + committedVersion.get());
+    }
+
+    private Optional<LectureResDto> load(Integer id) {
+        LectureResDto resDto = new LectureResDto();
+        resDto.setId(id);
+        resDto.setName("v" + committedVersion.get());
+        return Optional.of(resDto);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
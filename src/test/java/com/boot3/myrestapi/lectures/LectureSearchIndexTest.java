@@ -0,0 +1,204 @@
+package com.boot3.myrestapi.lectures;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+    LectureTokenizer, PostingList, LectureSearchIndex 단위 테스트
+    (검색 시간 측정은 -Dbenchmark=true 일 때만 실행하는 searchLatency)
+ */
+class LectureSearchIndexTest {
+    private static final String[] WORDS = IntStream.range(0, 5000).mapToObj(i -> "word" + i).toArray(String[]::new);
+    private static final String[] HANGUL = {"스프링", "부트", "강의장", "온라인", "보안", "데이터", "클라우드", "테스트"};
+
+    private final LectureRepository lectureRepository = mock(LectureRepository.class);
+    private final LectureSearchIndex index =
+            new LectureSearchIndex(lectureRepository, new SimpleMeterRegistry(), 2, 64);
+
+    @Test
+    public void tokenize() {
+        assertThat(LectureTokenizer.tokenize("Spring Boot3.3 강의장에서 REST-API 수업"))
+                .containsExactly("spring", "boot3", "3", "강의", "의장", "장에", "에서", "rest", "api", "수업");
+        assertThat(LectureTokenizer.tokenize("JPA와 강 D2")).containsExactly("jpa", "와", "강", "d2");
+        assertThat(LectureTokenizer.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    public void postingListPutAndRemove() {
+        PostingList postingList = new PostingList("spring");
+        postingList.put(3, 1);
+        postingList.put(300, 2);
+        postingList.put(100_000, 1);
+        //중간 삽입, 교체, 삭제
+        postingList.put(150, 5);
+        postingList.put(3, 4);
+        postingList.remove(300);
+        postingList.remove(7);
+
+        assertThat(entries(postingList)).containsExactly(List.of(3, 4), List.of(150, 5), List.of(100_000, 1));
+        assertThat(postingList.size()).isEqualTo(3);
+        //id 차이를 varint 로 저장 (1 + 1, 2 + 1, 3 + 1 byte)
+        assertThat(postingList.byteSize()).isEqualTo(9);
+    }
+
+    @Test
+    public void rankByTfIdf() {
+        index.put(new LectureText(1, "Spring Boot", "REST API 개발"));
+        index.put(new LectureText(2, "Spring Security", "Spring Boot 인증"));
+        index.put(new LectureText(3, "JPA", "Spring Data JPA"));
+        index.put(new LectureText(4, "React", "프론트엔드"));
+
+        //name 에 있는 token 의 점수가 높다
+        assertThat(ids(index.search("boot", 10))).containsExactly(1, 2);
+        assertThat(ids(index.search("spring", 10))).containsExactly(2, 1, 3);
+        //모든 token 이 있어야 한다
+        assertThat(ids(index.search("spring jpa", 10))).containsExactly(3);
+        assertThat(ids(index.search("spring react", 10))).isEmpty();
+        assertThat(ids(index.search("spring", 1))).containsExactly(2);
+        assertThat(index.search("  !! ", 10)).isEmpty();
+    }
+
+    @Test
+    public void prefixAndKorean() {
+        index.put(new LectureText(1, "스프링 부트 강의", "강남역 강의장에서 진행"));
+        index.put(new LectureText(2, "Security", "판교 강의장"));
+        index.put(new LectureText(3, "Servlet", "온라인"));
+
+        assertThat(ids(index.search("sec", 10))).containsExactly(2);
+        assertThat(ids(index.search("se", 10))).containsExactlyInAnyOrder(2, 3);
+        assertThat(ids(index.search("강의장", 10))).containsExactlyInAnyOrder(1, 2);
+        assertThat(ids(index.search("강남", 10))).containsExactly(1);
+        //한 글자는 그 글자로 시작하는 bigram 과 일치
+        assertThat(ids(index.search("판", 10))).containsExactly(2);
+        //정확히 일치하는 term 이 앞부분 일치보다 점수가 높다
+        index.put(new LectureText(4, "Se", "se"));
+        assertThat(ids(index.search("se", 10)).get(0)).isEqualTo(4);
+    }
+
+    @Test
+    public void updateAndRemove() {
+        index.put(new LectureText(1, "Spring", "Boot"));
+        index.put(new LectureText(2, "Spring", "JPA"));
+
+        index.onLectureChanged(LectureChangedEvent.of(
+                Lecture.builder().id(1).name("Kotlin").description("Coroutine").build()));
+        assertThat(ids(index.search("spring", 10))).containsExactly(2);
+        assertThat(ids(index.search("kotlin", 10))).containsExactly(1);
+        assertThat(index.search("boot", 10)).isEmpty();
+
+        //text 가 없는 event 는 DB 에서 조회하고, 없으면 색인에서 제거
+        when(lectureRepository.findTextById(2)).thenReturn(Optional.empty());
+        index.onLectureChanged(new LectureChangedEvent(2));
+        assertThat(index.search("spring", 10)).isEmpty();
+        assertThat(index.documentCount()).isEqualTo(1);
+        assertThat(index.termCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void buildInChunks() {
+        List<LectureText> texts = List.of(new LectureText(1, "Spring", null),
+                new LectureText(2, "Spring", "Boot"),
+                new LectureText(5, "JPA", null));
+        when(lectureRepository.findTextAfterId(anyInt(), any(Limit.class))).thenAnswer(invocation -> {
+            int after = invocation.getArgument(0);
+            int limit = invocation.<Limit>getArgument(1).max();
+            return texts.stream().filter(text -> text.id() > after).limit(limit).toList();
+        });
+
+        index.build();
+
+        assertThat(index.documentCount()).isEqualTo(3);
+        assertThat(ids(index.search("spring", 10))).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    public void buildKeepsChangesMadeWhileReadingChunk() {
+        when(lectureRepository.findTextAfterId(anyInt(), any(Limit.class))).thenAnswer(invocation -> {
+            if (invocation.<Integer>getArgument(0) > 0) {
+                return List.of();
+            }
+            //chunk 를 읽은 뒤 색인에 반영하기 전에 1 은 수정, 2 는 삭제 이벤트가 먼저 처리된 경우
+            index.put(new LectureText(1, "JPA", null));
+            index.remove(2);
+            return List.of(new LectureText(1, "Spring", null), new LectureText(2, "Spring", null));
+        });
+
+        index.build();
+
+        assertThat(ids(index.search("jpa", 10))).containsExactly(1);
+        assertThat(index.search("spring", 10)).isEmpty();
+        assertThat(index.documentCount()).isEqualTo(1);
+
+        //build 가 끝난 뒤에는 다시 정상적으로 색인
+        index.put(new LectureText(2, "Spring", null));
+        assertThat(ids(index.search("spring", 10))).containsExactly(2);
+    }
+
+    //1만 건 색인의 document 당 PostingList 인코딩 byte 수 (term 문자열과 객체 overhead 는 제외)
+    @Test
+    public void postingBytesPerDocument() {
+        int documents = 10_000;
+        putRandomDocuments(new Random(42), documents);
+
+        assertThat(index.documentCount()).isEqualTo(documents);
+        //document 당 token 약 20개, token 당 평균 3 byte 이하
+        assertThat((double) index.postingBytes() / documents).isLessThan(60);
+    }
+
+    //10만 건 색인의 검색 시간 측정 (측정값은 출력만, 오래 걸리므로 -Dbenchmark=true 일 때만 실행)
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void searchLatency() {
+        Random random = new Random(42);
+        int documents = 100_000;
+        putRandomDocuments(random, documents);
+
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            queries.add(WORDS[random.nextInt(WORDS.length)] + " " + HANGUL[random.nextInt(HANGUL.length)]);
+        }
+        long start = System.nanoTime();
+        int found = 0;
+        for (String query : queries) {
+            found += index.search(query, 20).size();
+        }
+        long micros = (System.nanoTime() - start) / 1000 / queries.size();
+        assertThat(found).isPositive();
+        System.out.printf("documents=%d terms=%d avgQuery=%dus%n", documents, index.termCount(), micros);
+    }
+
+    private void putRandomDocuments(Random random, int documents) {
+        for (int id = 1; id <= documents; id++) {
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < 20; i++) {
+                description.append(WORDS[(int) Math.abs(random.nextGaussian() * 800) % WORDS.length]).append(' ');
+            }
+            description.append(HANGUL[random.nextInt(HANGUL.length)]);
+            index.put(new LectureText(id, id + " Lecture", description.toString()));
+        }
+    }
+
+    private static List<Integer> ids(List<LectureSearchIndex.Hit> hits) {
+        return hits.stream().map(LectureSearchIndex.Hit::id).toList();
+    }
+
+    private static List<List<Integer>> entries(PostingList postingList) {
+        List<List<Integer>> entries = new ArrayList<>();
+        postingList.forEach((id, frequency) -> entries.add(List.of(id, frequency)));
+        return entries;
+    }
+}
@@ -0,0 +1,116 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.lectures.dto.LectureSearchCondition;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class LectureSearchTest {
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        //0~19: 수강신청 시작이 하루씩 늦어지고, 짝수는 PUBLISHED/무료/온라인, 홀수는 DRAFT/유료/오프라인
+        IntStream.range(0, 20).forEach(i -> {
+            LocalDateTime begin = LocalDateTime.of(2024, 7, 1, 9, 0).plusDays(i);
+            Lecture lecture = Lecture.builder()
+                    .name("search " + i)
+                    .description("search")
+                    .beginEnrollmentDateTime(begin)
+                    .closeEnrollmentDateTime(begin.plusDays(2))
+                    .beginLectureDateTime(begin.plusDays(3))
+                    .endLectureDateTime(begin.plusDays(4))
+                    .location(i % 2 == 0 ? null : (i < 10 ? "강남 " + i : "판교 " + i))
+                    .basePrice(i % 2 == 0 ? 0 : i * 10)
+                    .maxPrice(i % 2 == 0 ? 0 : 300)
+                    .limitOfEnrollment(10)
+                    .lectureStatus(i % 2 == 0 ? LectureStatus.PUBLISHED : LectureStatus.DRAFT)
+                    .build();
+            lecture.update();
+            lectureRepository.save(lecture);
+        });
+        entityManager.flush();
+    }
+
+    @Test
+    public void combineConditions() {
+        LectureSearchCondition condition = LectureSearchCondition.builder()
+                .lectureStatus(LectureStatus.DRAFT)
+                .offline(true)
+                .minPrice(50)
+                .maxPrice(150)
+                .location("강남")
+                .build();
+
+        Page<LectureResDto> page = lectureRepository.search(condition, PageRequest.of(0, 10, Sort.by("basePrice")));
+
+        assertThat(page.getContent()).extracting(LectureResDto::getName)
+                .containsExactly("search 5", "search 7", "search 9");
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    public void enrollmentWindowOverlap() {
+        //7/10 ~ 7/11 과 수강신청 기간(시작 ~ 시작+2일)이 겹치는 Lecture: 7/8 ~ 7/11 시작
+        LectureSearchCondition condition = LectureSearchCondition.builder()
+                .enrollmentFrom(LocalDateTime.of(2024, 7, 10, 9, 0))
+                .enrollmentTo(LocalDateTime.of(2024, 7, 11, 9, 0))
+                .free(true)
+                .build();
+
+        Page<LectureResDto> page = lectureRepository.search(condition, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(page.getContent()).extracting(LectureResDto::getName)
+                .containsExactly("search 8", "search 10");
+    }
+
+    @Test
+    public void pagedWithCount() {
+        Page<LectureResDto> page = lectureRepository.search(new LectureSearchCondition(), PageRequest.of(1, 7));
+
+        assertThat(page.getContent()).hasSize(7);
+        assertThat(page.getTotalElements()).isEqualTo(20);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    public void likeWildcardIsEscaped() {
+        LectureSearchCondition condition = LectureSearchCondition.builder().location("%").build();
+
+        assertThat(lectureRepository.search(condition, PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    //H2 실행계획에서 조건에 맞는 index 를 사용하는지 확인
+    @Test
+    public void queriesUseIndexes() {
+        assertThat(explain("select id from lectures where lecture_status = 'DRAFT' " +
+                "and begin_enrollment_date_time <= timestamp '2024-07-11 09:00:00'"))
+                .containsIgnoringCase("ix_lectures_status_enrollment");
+        assertThat(explain("select id from lectures where location like '강남%'"))
+                .containsIgnoringCase("ix_lectures_location");
+        assertThat(explain("select id from lectures where free = false and offline = true " +
+                "and base_price between 50 and 150"))
+                .containsIgnoringCase("ix_lectures_free_offline_price");
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("explain " + sql).getSingleResult());
+    }
+}
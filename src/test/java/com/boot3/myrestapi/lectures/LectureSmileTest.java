@@ -0,0 +1,140 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.common.config.SmileConfig;
+import com.boot3.myrestapi.lectures.dto.LectureResource;
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.boot3.myrestapi.lectures.LectureFixtures.resDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    Accept 헤더에 따라 HAL JSON / Smile 로 응답하는지 확인하고,
+    1000 개 페이지의 format 별 크기(gzip 포함)와 직렬화 + 파싱 시간을 측정 (측정값은 출력만)
+    측정은 -Dbenchmark=true 일 때만 실행
+      mvn test -Dtest=LectureSmileTest -Dbenchmark=true
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureSmileTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    HalMediaTypeConfiguration halMediaTypeConfiguration;
+    @Autowired
+    MappingJackson2SmileHttpMessageConverter halSmileHttpMessageConverter;
+
+    private String token;
+    private ObjectMapper halMapper;
+    private ObjectMapper smileMapper;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtService.generateToken("admin@aa.com");
+        halMapper = halMediaTypeConfiguration.configureObjectMapper(objectMapper.copy());
+        smileMapper = halSmileHttpMessageConverter.getObjectMapper();
+    }
+
+    @Test
+    public void smileHasSameHalStructure() throws Exception {
+        for (String url : List.of("/api/lectures?size=5", "/api/lectures/1", "/api/lectures?after=&size=3")) {
+            byte[] json = mockMvc.perform(get(url).header("Authorization", "Bearer " + token)
+                            .accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaTypes.HAL_JSON))
+                    .andReturn().getResponse().getContentAsByteArray();
+            byte[] smile = mockMvc.perform(get(url).header("Authorization", "Bearer " + token)
+                            .accept(SmileConfig.SMILE_VALUE))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(SmileConfig.SMILE_VALUE))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            JsonNode smileTree = smileMapper.readTree(smile);
+            assertThat(smileTree).isEqualTo(objectMapper.readTree(json));
+            assertThat(smileTree.at("/_links/self/href").asText()).startsWith("http://localhost/api/lectures");
+        }
+    }
+
+    @Test
+    public void halJsonIsDefault() throws Exception {
+        mockMvc.perform(get("/api/lectures/1").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaTypes.HAL_JSON));
+    }
+
+    @Test
+    public void pageOf1000SmallerThanJson() throws Exception {
+        PagedModel<LectureResource> page = pageOf1000();
+
+        byte[] json = halMapper.writeValueAsBytes(page);
+        byte[] smile = smileMapper.writeValueAsBytes(page);
+        assertThat(smileMapper.readTree(smile)).isEqualTo(halMapper.readTree(json));
+        assertThat(smile.length).isLessThan(json.length);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void pageOf1000SizeAndTime() throws Exception {
+        PagedModel<LectureResource> page = pageOf1000();
+        byte[] json = halMapper.writeValueAsBytes(page);
+        byte[] smile = smileMapper.writeValueAsBytes(page);
+
+        System.out.printf("page of 1000: hal+json %d bytes (gzip %d) %d us / smile %d bytes (gzip %d) %d us%n",
+                json.length, gzipSize(json), serializeAndParseMicros(halMapper, page),
+                smile.length, gzipSize(smile), serializeAndParseMicros(smileMapper, page));
+    }
+
+    private static PagedModel<LectureResource> pageOf1000() {
+        List<LectureResource> lectures = IntStream.rangeClosed(1, 1000)
+                .mapToObj(id -> new LectureResource(resDto(id), "http://localhost:8080/api/lectures"))
+                .toList();
+        return PagedModel.of(lectures, new PagedModel.PageMetadata(1000, 0, 15000));
+    }
+
+    //warm-up 후 직렬화 + 파싱(JsonNode) 평균 시간
+    private static long serializeAndParseMicros(ObjectMapper mapper, Object value) throws Exception {
+        int iterations = 200;
+        for (int i = 0; i < iterations; i++) {
+            mapper.readTree(mapper.writeValueAsBytes(value));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            mapper.readTree(mapper.writeValueAsBytes(value));
+        }
+        return (System.nanoTime() - start) / 1000 / iterations;
+    }
+
+    private static int gzipSize(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
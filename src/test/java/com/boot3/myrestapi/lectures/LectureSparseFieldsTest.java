@@ -0,0 +1,160 @@
+package com.boot3.myrestapi.lectures;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.boot3.myrestapi.lectures.LectureFixtures.deleteBulk;
+import static com.boot3.myrestapi.lectures.LectureFixtures.insertBulk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    fields 파라미터(sparse fieldset) - 응답 필드와 SELECT 컬럼이 요청한 필드로 제한되는지 확인하고,
+    1000 개 페이지의 응답 크기를 전체 필드와 비교
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.boot3.myrestapi.lectures.LectureSparseFieldsTest$SqlRecorder")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureSparseFieldsTest {
+    private static final int BULK_ID_OFFSET = 2_000_000;
+
+    //실행된 SQL 기록
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> SQLS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQLS.add(sql.toLowerCase());
+            return sql;
+        }
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtService.generateToken("admin@aa.com");
+        SqlRecorder.SQLS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteBulk(jdbcTemplate, BULK_ID_OFFSET);
+    }
+
+    @Test
+    public void queryLecturesSelectsOnlyRequestedFields() throws Exception {
+        String json = mockMvc.perform(get("/api/lectures")
+                        .param("fields", "lectureStatus, name,beginLectureDateTime,name")
+                        .param("size", "3")
+                        .param("sort", "id")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.lectureResourceList[0].id").value(1))
+                .andExpect(jsonPath("_embedded.lectureResourceList[0].beginLectureDateTime").value("2024-06-25 14:21"))
+                .andExpect(jsonPath("_embedded.lectureResourceList[0].lectureStatus").value("DRAFT"))
+                .andExpect(jsonPath("_embedded.lectureResourceList[0]._links.self.href")
+                        .value("http://localhost/api/lectures/1"))
+                .andExpect(jsonPath("page.size").value(3))
+                .andExpect(jsonPath("_links.create-Lecture").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        //응답 필드 순서는 LectureResDto 와 같다
+        Map<String, Object> first = JsonPath.read(json, "$._embedded.lectureResourceList[0]");
+        assertThat(first.keySet())
+                .containsExactly("id", "name", "beginLectureDateTime", "lectureStatus", "_links");
+
+        String select = SqlRecorder.SQLS.stream()
+                .filter(sql -> sql.startsWith("select") && !sql.contains("count("))
+                .filter(sql -> sql.contains("from lectures"))
+                .reduce((a, b) -> b).orElseThrow();
+        assertThat(select).contains("name", "begin_lecture_date_time", "lecture_status")
+                .doesNotContain("description", "location", "base_price", "user_info", "version");
+    }
+
+    @Test
+    public void emailJoinsUserInfo() {
+        List<Map<String, Object>> content = lectureRepository
+                .findAllFields(LectureFields.parse("email"), PageRequest.of(0, 2, Sort.by("id"))).getContent();
+
+        assertThat(content).allSatisfy(attributes -> assertThat(attributes).containsOnlyKeys("id", "email"));
+        assertThat(SqlRecorder.SQLS).anyMatch(sql -> sql.contains("user_info"));
+    }
+
+    @Test
+    public void getLectureWithFields() throws Exception {
+        String eTag = mockMvc.perform(get("/api/lectures/1").param("fields", "name")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("id").value(1))
+                .andExpect(jsonPath("name").value("1 Lecture "))
+                .andExpect(jsonPath("description").doesNotExist())
+                .andExpect(jsonPath("_links.self.href").value("http://localhost/api/lectures/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String fullETag = mockMvc.perform(get("/api/lectures/1")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("lectureStatus").value("DRAFT"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotEqualTo(fullETag);
+
+        mockMvc.perform(get("/api/lectures/1").param("fields", "name")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void unknownField() throws Exception {
+        mockMvc.perform(get("/api/lectures").param("fields", "name,ownerId")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/lectures/1").param("fields", "version")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void sparsePayloadSize() throws Exception {
+        insertBulk(jdbcTemplate, BULK_ID_OFFSET, 1000);
+        String fields = "name,beginLectureDateTime,lectureStatus";
+
+        int full = mockMvc.perform(get("/api/lectures").param("size", "1000")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        int sparse = mockMvc.perform(get("/api/lectures").param("size", "1000").param("fields", fields)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        assertThat(sparse).isLessThan(full / 2);
+    }
+}
@@ -0,0 +1,62 @@
+package com.boot3.myrestapi.security.filter;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfos.UserInfoRepository;
+import com.boot3.myrestapi.security.userinfos.UserInfoUserDetailsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtAuthenticationFilterTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoUserDetailsService userDetailsService;
+    @SpyBean
+    UserInfoRepository userInfoRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtService.generateToken("admin@aa.com");
+        clearInvocations(userInfoRepository);
+    }
+
+    @Test
+    public void publicPathsSkipTokenProcessing() throws Exception {
+        mockMvc.perform(get("/users/welcome").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/v3/api-docs").header("Authorization", "Bearer " + token));
+
+        verify(userInfoRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    public void protectedPathsLoadUser() throws Exception {
+        //다른 테스트에서 캐시된 principal 을 제거해야 DB 조회가 일어난다
+        userDetailsService.evict("admin@aa.com");
+        mockMvc.perform(get("/api/lectures").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        //두번째 요청은 principal 캐시 사용
+        mockMvc.perform(get("/api/lectures").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        verify(userInfoRepository, times(1)).findByEmail("admin@aa.com");
+    }
+}
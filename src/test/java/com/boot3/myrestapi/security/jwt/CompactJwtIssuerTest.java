@@ -0,0 +1,47 @@
+package com.boot3.myrestapi.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactJwtIssuerTest {
+    private final CompactJwtIssuer issuer = new CompactJwtIssuer(JwtService.KEY);
+
+    @Test
+    public void sameBytesAsJwtsBuilder() {
+        long iat = Instant.now().getEpochSecond();
+        long exp = iat + 30;
+
+        String builderToken = Jwts.builder()
+                .signWith(JwtService.KEY, Jwts.SIG.HS256)
+                .subject("admin@aa.com")
+                .issuedAt(new Date(iat * 1000))
+                .expiration(new Date(exp * 1000))
+                .id("5f0c6f4e-0a4b-4b7e-9d1b-2f7e3c1a9b10")
+                .claim(JwtService.USER_ID_CLAIM, 1)
+                .claim(JwtService.NAME_CLAIM, "관리자 \"boot\"")
+                .claim(JwtService.ROLES_CLAIM, "ROLE_ADMIN,ROLE_USER")
+                .compact();
+
+        String issuedToken = issuer.issue("admin@aa.com", iat, exp,
+                "5f0c6f4e-0a4b-4b7e-9d1b-2f7e3c1a9b10", 1, "관리자 \"boot\"", "ROLE_ADMIN,ROLE_USER");
+
+        assertThat(issuedToken).isEqualTo(builderToken);
+    }
+
+    @Test
+    public void parsedByJwtService() {
+        long iat = Instant.now().getEpochSecond();
+        String token = issuer.issue("user@aa.com", iat, iat + 30, "jti-1");
+
+        VerifiedClaims claims = new JwtService(10).verify(token);
+        assertThat(claims.getSubject()).isEqualTo("user@aa.com");
+        assertThat(claims.getExpiration()).isEqualTo(new Date((iat + 30) * 1000));
+        assertThat(claims.getId()).isEqualTo("jti-1");
+        assertThat(claims.hasPrincipal()).isFalse();
+    }
+}
@@ -0,0 +1,75 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.security.userinfos.RefreshToken;
+import com.boot3.myrestapi.security.userinfos.UserInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTest {
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+    private final UserInfo userInfo = new UserInfo(1, "userboot", "user@aa.com", "pwd", "ROLE_USER");
+
+    @Test
+    public void findByHashAndRotate() {
+        String firstHash = TokenDigests.sha256Hex("first");
+        RefreshToken refreshToken = store.save(refreshToken(0, firstHash));
+
+        assertThat(refreshToken.getId()).isPositive();
+        assertThat(store.findByTokenHash(firstHash)).get()
+                .extracting(RefreshToken::getId).isEqualTo(refreshToken.getId());
+        assertThat(store.findByUserInfo(userInfo)).get()
+                .extracting(RefreshToken::getTokenHash).isEqualTo(firstHash);
+
+        //같은 사용자의 token 교체 시 이전 hash 로는 조회되지 않음
+        String secondHash = TokenDigests.sha256Hex("second");
+        RefreshToken rotated = store.save(refreshToken(refreshToken.getId(), secondHash));
+
+        assertThat(store.findByTokenHash(firstHash)).isEmpty();
+        assertThat(store.findByTokenHash(secondHash)).get()
+                .extracting(RefreshToken::getId).isEqualTo(refreshToken.getId());
+
+        store.delete(rotated);
+        assertThat(store.findByUserInfo(userInfo)).isEmpty();
+    }
+
+    @Test
+    public void storesCopyWithoutRawToken() {
+        String hash = TokenDigests.sha256Hex("raw");
+        RefreshToken saved = store.save(refreshToken(0, hash));
+        //발급한 쪽이 원문을 넣거나 값을 바꿔도 저장된 token 에는 반영되지 않는다
+        saved.setToken("raw");
+        saved.setTokenHash(TokenDigests.sha256Hex("other"));
+
+        RefreshToken stored = store.findByTokenHash(hash).orElseThrow();
+        assertThat(stored).isNotSameAs(saved);
+        assertThat(stored.getToken()).isNull();
+        assertThat(stored.getTokenHash()).isEqualTo(hash);
+    }
+
+    @Test
+    public void concurrentRotationKeepsOneToken() {
+        //같은 사용자의 token 을 동시에 교체해도 마지막으로 등록된 hash 하나만 조회된다
+        List<String> hashes = IntStream.range(0, 200)
+                .mapToObj(i -> TokenDigests.sha256Hex("concurrent" + i))
+                .toList();
+        hashes.parallelStream().forEach(hash -> store.save(refreshToken(1, hash)));
+
+        String current = store.findByUserInfo(userInfo).orElseThrow().getTokenHash();
+        assertThat(hashes.stream().filter(hash -> store.findByTokenHash(hash).isPresent()))
+                .containsExactly(current);
+    }
+
+    private RefreshToken refreshToken(int id, String tokenHash) {
+        return RefreshToken.builder()
+                .id(id)
+                .userInfo(userInfo)
+                .tokenHash(tokenHash)
+                .expiryDate(Instant.now().plusSeconds(60))
+                .build();
+    }
+}
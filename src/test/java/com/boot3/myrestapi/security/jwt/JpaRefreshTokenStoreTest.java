@@ -0,0 +1,60 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.security.userinfos.RefreshToken;
+import com.boot3.myrestapi.security.userinfos.UserInfo;
+import com.boot3.myrestapi.security.userinfos.UserInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JpaRefreshTokenStore.class)
+//chunk 마다 별도 transaction 으로 삭제되는지 확인하기 위해 테스트 transaction 을 사용하지 않음
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaRefreshTokenStoreTest {
+    @Autowired
+    JpaRefreshTokenStore store;
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+
+    @Test
+    public void deleteExpiredInChunks() {
+        Instant now = Instant.now();
+        IntStream.range(0, 5).forEach(i -> saveToken(i, now.minusSeconds(60)));
+        IntStream.range(5, 7).forEach(i -> saveToken(i, now.plusSeconds(60)));
+
+        assertThat(store.deleteExpired(now, 3)).isEqualTo(3);
+        assertThat(store.deleteExpired(now, 3)).isEqualTo(2);
+        assertThat(store.deleteExpired(now, 3)).isZero();
+        //만료되지 않은 token 은 남아있음
+        assertThat(refreshTokenRepository.count()).isEqualTo(2);
+
+        refreshTokenRepository.deleteAll();
+        userInfoRepository.deleteAll();
+    }
+
+    private void saveToken(int index, Instant expiryDate) {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setName("user" + index);
+        userInfo.setEmail("reaper" + index + "@aa.com");
+        userInfo.setPassword("pwd");
+        userInfo.setRoles("ROLE_USER");
+        store.save(RefreshToken.builder()
+                .userInfo(userInfoRepository.save(userInfo))
+                .tokenHash(TokenDigests.sha256Hex("token" + index))
+                .expiryDate(expiryDate)
+                .build());
+    }
+}
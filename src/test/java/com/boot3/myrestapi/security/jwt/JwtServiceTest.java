@@ -0,0 +1,38 @@
+package com.boot3.myrestapi.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+    private final JwtService jwtService = new JwtService(100);
+
+    @Test
+    public void verifyOncePerToken() {
+        String token = jwtService.generateToken("admin@aa.com");
+
+        VerifiedClaims first = jwtService.verify(token);
+        VerifiedClaims second = jwtService.verify(token);
+
+        //두번째 호출은 서명검증 없이 캐시된 같은 객체를 반환
+        assertThat(second).isSameAs(first);
+        assertThat(first.getSubject()).isEqualTo("admin@aa.com");
+        assertThat(jwtService.extractUsername(token)).isEqualTo("admin@aa.com");
+        assertThat(jwtService.extractExpiration(token)).isEqualTo(first.getExpiration());
+    }
+
+    @Test
+    public void tamperedTokenIsRejected() {
+        //다른 key 로 서명된 토큰
+        String forged = Jwts.builder()
+                .signWith(Jwts.SIG.HS256.key().build())
+                .subject("admin@aa.com")
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.verify(forged))
+                .isInstanceOf(SignatureException.class);
+    }
+}
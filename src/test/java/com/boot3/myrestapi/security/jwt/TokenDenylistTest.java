@@ -0,0 +1,59 @@
+package com.boot3.myrestapi.security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+    private final TokenDenylist denylist = new TokenDenylist(1000, 0.01);
+
+    @Test
+    public void revokedUntilExpiration() {
+        String jti = UUID.randomUUID().toString();
+        denylist.revoke(jti, System.currentTimeMillis() + 60_000);
+
+        assertThat(denylist.isRevoked(jti)).isTrue();
+        assertThat(denylist.isRevoked(UUID.randomUUID().toString())).isFalse();
+        assertThat(denylist.isRevoked(null)).isFalse();
+
+        //한번 rotation 후에도 previous 세대에 남아있음
+        denylist.rotate();
+        assertThat(denylist.isRevoked(jti)).isTrue();
+    }
+
+    @Test
+    public void expiredEntriesAgeOut() {
+        String jti = UUID.randomUUID().toString();
+        denylist.revoke(jti, System.currentTimeMillis() + 50);
+        assertThat(denylist.size()).isEqualTo(1);
+
+        await(100);
+        assertThat(denylist.isRevoked(jti)).isFalse();
+        denylist.rotate();
+        assertThat(denylist.size()).isZero();
+    }
+
+    @Test
+    public void lowFalsePositiveRate() {
+        TokenDenylist.BloomFilter filter = new TokenDenylist.BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("jti-" + i);
+        }
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+        //기대 오탐률 1% (10,000 건 중 약 100 건)
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.boot3.myrestapi.security.password;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void encodeAndMatches() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 1, 1, meterRegistry);
+
+        String encoded = encoder.encode("pwd1");
+        assertThat(encoder.matches("pwd1", encoded)).isTrue();
+        assertThat(encoder.matches("pwd2", encoded)).isFalse();
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+        encoder.destroy();
+    }
+
+    @Test
+    public void upgradeEncodingWhenCostDiffers() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, 1, 1, 1, meterRegistry);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pwd"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("pwd"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pwd"))).isTrue();
+        encoder.destroy();
+    }
+
+    @Test
+    public void rejectWhenQueueIsFull() {
+        //worker 1개, 대기큐 1개 => 동시에 2개를 초과하는 요청은 거절
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(12, 1, 1, 7, meterRegistry);
+
+        ExecutorService clients = Executors.newFixedThreadPool(6);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> encoder.encode("pwd"), clients));
+        }
+        long rejected = futures.stream()
+                .filter(future -> {
+                    try {
+                        future.join();
+                        return false;
+                    } catch (CompletionException e) {
+                        return e.getCause() instanceof PasswordHashingRejectedException rejectedException
+                                && rejectedException.getRetryAfterSeconds() == 7;
+                    }
+                })
+                .count();
+
+        assertThat(rejected).isPositive();
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(rejected);
+        clients.shutdown();
+        encoder.destroy();
+    }
+}
@@ -0,0 +1,75 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRateLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthRateLimitFilter filter = new AuthRateLimitFilter(true,
+            10, Duration.ofMinutes(1), 2, Duration.ofMinutes(1), Duration.ofMinutes(10), 4, meterRegistry);
+
+    @Test
+    public void limitsByEmailAndKeepsBody() throws Exception {
+        String body = "{\"email\":\"Admin@aa.com\",\"password\":\"pwd1\"}";
+
+        for (int i = 0; i < 2; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = login(body, "10.0.0." + i, chain);
+            assertThat(response.getStatus()).isEqualTo(200);
+            //Controller 는 body 전체를 그대로 읽을 수 있어야 한다
+            assertThat(new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(body);
+        }
+
+        //IP 가 달라도 같은 email(대소문자 무시) 이면 제한
+        MockHttpServletResponse rejected = login(body.replace("Admin", "admin"), "10.0.0.9", new MockFilterChain());
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(rejected.getContentAsString()).contains("\"statusCode\" : 429");
+        assertThat(meterRegistry.get("auth.rate_limit.rejected").tag("key", "email").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void limitsByIp() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(login("{\"email\":\"user" + i + "@aa.com\"}", "10.0.0.1", new MockFilterChain()).getStatus())
+                    .isEqualTo(200);
+        }
+        assertThat(login("{\"email\":\"other@aa.com\"}", "10.0.0.1", new MockFilterChain()).getStatus())
+                .isEqualTo(429);
+        assertThat(meterRegistry.get("auth.rate_limit.rejected").tag("key", "ip").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void ignoresOtherPaths() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/welcome");
+            request.setServletPath("/users/welcome");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse login(String body, String remoteAddr, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/login");
+        request.setServletPath("/users/login");
+        request.setRemoteAddr(remoteAddr);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,62 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachedBodyHttpServletRequestTest {
+
+    @Test
+    public void readListenerOnCachedBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/login");
+        request.setContent("{\"email\":\"admin@aa.com\"}".getBytes(StandardCharsets.UTF_8));
+        CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(request, 1024);
+
+        ServletInputStream inputStream = cached.getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        StringBuilder events = new StringBuilder();
+        inputStream.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.append("data ");
+                while (inputStream.isReady() && !inputStream.isFinished()) {
+                    int b = inputStream.read();
+                    if (b != -1) {
+                        read.write(b);
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.append("all");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.append("error");
+            }
+        });
+
+        assertThat(events.toString()).isEqualTo("data all");
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"email\":\"admin@aa.com\"}");
+    }
+
+    @Test
+    public void readListenerOnPartiallyCachedBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/login");
+        request.setContent(new byte[100]);
+        CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(request, 10);
+
+        assertThatThrownBy(() -> cached.getInputStream().setReadListener(null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,41 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedTokenBucketsTest {
+    private final StripedTokenBuckets buckets =
+            new StripedTokenBuckets(3, Duration.ofSeconds(3), Duration.ofMinutes(1), 4);
+
+    @Test
+    public void rejectsAfterCapacityAndRefills() {
+        long now = 0;
+        for (int i = 0; i < 3; i++) {
+            assertThat(buckets.tryAcquire("10.0.0.1", now)).isZero();
+        }
+        long waitNanos = buckets.tryAcquire("10.0.0.1", now);
+        assertThat(waitNanos).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        //다른 key 는 영향 없음
+        assertThat(buckets.tryAcquire("10.0.0.2", now)).isZero();
+
+        //1초 후 token 1개 충전
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertThat(buckets.tryAcquire("10.0.0.1", now)).isZero();
+        assertThat(buckets.tryAcquire("10.0.0.1", now)).isPositive();
+    }
+
+    @Test
+    public void evictsIdleBuckets() {
+        buckets.tryAcquire("a", 0);
+        buckets.tryAcquire("b", TimeUnit.SECONDS.toNanos(30));
+        assertThat(buckets.size()).isEqualTo(2);
+
+        assertThat(buckets.evictIdle(TimeUnit.SECONDS.toNanos(60))).isEqualTo(1);
+        assertThat(buckets.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.boot3.myrestapi.security.userinfos;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    /users/logout - 유효한 token 은 폐기, 만료된 token 은 성공, 서명이 잘못된 token 은 401
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserInfoLogoutTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+
+    @Test
+    public void logoutRevokesToken() throws Exception {
+        String token = jwtService.generateToken("admin@aa.com");
+        mockMvc.perform(get("/api/lectures/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/users/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("token revoked")));
+
+        mockMvc.perform(get("/api/lectures/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void logoutWithExpiredToken() throws Exception {
+        String expired = Jwts.builder()
+                .subject("admin@aa.com")
+                .id(UUID.randomUUID().toString())
+                .issuedAt(Date.from(Instant.now().minusSeconds(60)))
+                .expiration(Date.from(Instant.now().minusSeconds(30)))
+                .signWith(JwtService.KEY)
+                .compact();
+
+        mockMvc.perform(post("/users/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + expired))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("already expired")));
+    }
+
+    @Test
+    public void logoutWithForgedToken() throws Exception {
+        //다른 key 로 서명된 토큰
+        String forged = Jwts.builder()
+                .subject("admin@aa.com")
+                .id(UUID.randomUUID().toString())
+                .expiration(Date.from(Instant.now().plusSeconds(30)))
+                .signWith(Jwts.SIG.HS256.key().build())
+                .compact();
+
+        mockMvc.perform(post("/users/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + forged))
+                .andExpect(status().isUnauthorized());
+    }
+}